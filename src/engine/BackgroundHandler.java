@@ -0,0 +1,72 @@
+package engine;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+/**
+ * Log handler passing the records to another handler on the background
+ * tasks thread, so that writing the log file never holds up a frame.
+ */
+final class BackgroundHandler extends Handler {
+
+	/** Longest wait for the queued records when closing, in ms. */
+	private static final long CLOSE_TIMEOUT = 2000;
+
+	/** Handler writing the records. */
+	private final Handler target;
+	/** Tasks the writes run on. */
+	private final BackgroundTasks tasks;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param target
+	 *            Handler writing the records.
+	 * @param tasks
+	 *            Tasks the writes run on.
+	 */
+	BackgroundHandler(final Handler target, final BackgroundTasks tasks) {
+		this.target = target;
+		this.tasks = tasks;
+	}
+
+	@Override
+	public void publish(final LogRecord logRecord) {
+		if (isLoggable(logRecord)) {
+			this.tasks.execute(() -> this.target.publish(logRecord));
+		}
+	}
+
+	@Override
+	public void flush() {
+		this.tasks.execute(this.target::flush);
+	}
+
+	/**
+	 * Closes the handler written to, after the records already queued. The
+	 * logging shutdown hook may call this before the background tasks are
+	 * shut down, so it waits for the close to run.
+	 */
+	@Override
+	public void close() {
+		try {
+			this.tasks.submit(() -> {
+				this.target.close();
+				return null;
+			}).get(CLOSE_TIMEOUT, TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			// The tasks are shutting down, the queued records come first.
+			this.tasks.shutdown(CLOSE_TIMEOUT);
+			this.target.close();
+		} catch (ExecutionException | TimeoutException e) {
+			this.target.close();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			this.target.close();
+		}
+	}
+}
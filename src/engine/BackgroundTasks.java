@@ -0,0 +1,104 @@
+package engine;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs blocking work, such as reading and writing the high scores or the
+ * log, away from the thread running the game loop. Tasks run one at a
+ * time in the order they were submitted, so a load submitted after a save
+ * of the same file sees the saved scores. Screens get a future back and
+ * check it on later updates instead of waiting for the disk.
+ */
+public final class BackgroundTasks {
+
+	/** Tasks submitted. */
+	private final AtomicLong submitted = new AtomicLong();
+	/** Tasks that ended with an exception. */
+	private final AtomicLong failed = new AtomicLong();
+	/** Thread running the tasks. */
+	private final ExecutorService executor;
+
+	/**
+	 * Constructor, starts the worker thread. It is a daemon, so a task
+	 * stuck on the disk does not keep the game from closing.
+	 */
+	BackgroundTasks() {
+		this.executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "invaders-background");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Submits a task returning a result.
+	 *
+	 * @param <T>
+	 *            Type of the result.
+	 * @param task
+	 *            Task to run.
+	 * @return Future holding the result, or the exception thrown by the
+	 *         task.
+	 */
+	public <T> Future<T> submit(final Callable<T> task) {
+		this.submitted.incrementAndGet();
+		return this.executor.submit(() -> {
+			try {
+				return task.call();
+			} catch (Exception e) {
+				this.failed.incrementAndGet();
+				Core.getLogger().warning("Background task failed: " + e);
+				throw e;
+			}
+		});
+	}
+
+	/**
+	 * Runs a task that needs no future, or right away on the calling
+	 * thread once the tasks have been shut down.
+	 *
+	 * @param task
+	 *            Task to run.
+	 */
+	void execute(final Runnable task) {
+		try {
+			this.executor.execute(task);
+		} catch (RejectedExecutionException e) {
+			task.run();
+		}
+	}
+
+	/**
+	 * Stops taking tasks and waits for the ones already submitted to end.
+	 *
+	 * @param timeoutMillis
+	 *            Longest wait, in milliseconds.
+	 * @return True if every task ended in time.
+	 */
+	boolean shutdown(final long timeoutMillis) {
+		this.executor.shutdown();
+		try {
+			return this.executor.awaitTermination(timeoutMillis,
+					TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * Summarizes the tasks run.
+	 *
+	 * @return Background task statistics.
+	 */
+	public String getStatistics() {
+		return String.format("Background tasks: %d submitted, %d failed.",
+				this.submitted.get(), this.failed.get());
+	}
+}
@@ -0,0 +1,63 @@
+package engine;
+
+import java.awt.event.KeyEvent;
+import java.util.Random;
+
+/**
+ * Scripted player for the first ship: it keeps shooting while sweeping
+ * left and right for random lengths of time. Its choices only depend on
+ * its seed and the gameplay clock, so with a manual clock the same seed
+ * plays the same moves.
+ */
+public final class BotInput implements InputSource {
+
+	/** Shortest time moving in one direction, in milliseconds. */
+	private static final int MIN_SWEEP = 200;
+	/** Longest time moving in one direction, in milliseconds. */
+	private static final int MAX_SWEEP = 1500;
+
+	/** Source of the sweep lengths. */
+	private final Random random;
+	/** Time the current sweep ends at. */
+	private long sweepEnd;
+	/** If the current sweep goes right. */
+	private boolean movingRight;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param seed
+	 *            Seed of the moves.
+	 */
+	public BotInput(final long seed) {
+		this.random = new Random(seed);
+		this.sweepEnd = Long.MIN_VALUE;
+	}
+
+	/**
+	 * Returns true if the bot is pressing a key.
+	 *
+	 * @param keyCode
+	 *            Key number to check.
+	 * @return Key state.
+	 */
+	@Override
+	public boolean isKeyDown(final int keyCode) {
+		long now = Core.getClock().getMillis();
+		if (now >= this.sweepEnd) {
+			this.movingRight = this.random.nextBoolean();
+			this.sweepEnd = now + MIN_SWEEP
+					+ this.random.nextInt(MAX_SWEEP - MIN_SWEEP);
+		}
+		switch (keyCode) {
+		case KeyEvent.VK_SPACE:
+			return true;
+		case KeyEvent.VK_RIGHT:
+			return this.movingRight;
+		case KeyEvent.VK_LEFT:
+			return !this.movingRight;
+		default:
+			return false;
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package engine;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+
+/**
+ * Presents finished frames by page flipping on a canvas. The pages of the
+ * buffer strategy are accelerated (volatile) surfaces, so their contents can
+ * be lost at any time and every frame is redrawn until it sticks. Pages are
+ * flipped, so the whole frame is copied even when only some regions changed.
+ */
+final class BufferStrategyPresenter extends Presenter {
+
+	/** Buffer strategy of the canvas. */
+	private final BufferStrategy strategy;
+
+	/**
+	 * Constructor, creates the buffer strategy.
+	 *
+	 * @param canvas
+	 *            Displayable canvas to present on.
+	 * @param buffers
+	 *            Number of buffers, 2 or 3.
+	 * @param scale
+	 *            Window pixels per pixel of the frame.
+	 */
+	BufferStrategyPresenter(final Canvas canvas, final int buffers,
+			final int scale) {
+		super(scale);
+		canvas.createBufferStrategy(buffers);
+		this.strategy = canvas.getBufferStrategy();
+		if (this.strategy == null) {
+			throw new IllegalStateException("No buffer strategy available.");
+		}
+	}
+
+	@Override
+	protected void show(final BufferedImage image,
+			final DirtyRegions regions) {
+		do {
+			do {
+				Graphics graphics = this.strategy.getDrawGraphics();
+				try {
+					graphics.drawImage(image, 0, 0,
+							image.getWidth() * this.scale,
+							image.getHeight() * this.scale, null);
+					regions.drawOverlay(graphics, 0, 0, this.scale);
+				} finally {
+					graphics.dispose();
+				}
+			} while (this.strategy.contentsRestored());
+
+			this.strategy.show();
+		} while (this.strategy.contentsLost());
+
+		Toolkit.getDefaultToolkit().sync();
+	}
+
+	@Override
+	protected String getName() {
+		return "BufferStrategy";
+	}
+}
@@ -2,6 +2,8 @@ package engine;
 
 /**
  * Imposes a cooldown period between two actions. // 두 동작 사이에 재사용 대기 시간 부과
+ * Running cooldowns are held by a timing wheel, which marks them finished
+ * when it advances past their deadline, so checking one reads a flag.
  * 
  * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
  * 
@@ -15,22 +17,42 @@ public class Cooldown {
 	private int variance;
 	/** Duration of this run, varies between runs if variance > 0. // 이 동작의 지속 시간은 분산이 0 보다 크면 실행마다 다름  */
 	private int duration;
-	/** Beginning time. // 시작 시간  */
-	private long time;
+	/** If the cooldown is finished, true until it is first reset. */
+	private boolean finished;
+	/** Clock the time is read from. */
+	private final GameClock clock;
+	/** Timing wheel finishing the cooldown. */
+	private final TimingWheel timers;
+
+	/** Time the cooldown finishes at, while it is in the timing wheel. */
+	long deadline;
+	/** Slot of the timing wheel holding the cooldown, -1 if none. */
+	int slot;
+	/** Previous cooldown in the same slot. */
+	Cooldown previousTimer;
+	/** Next cooldown in the same slot. */
+	Cooldown nextTimer;
 
 	/**
 	 * Constructor, established the time until the action can be performed
 	 * again.
 	 * // 생성자, 작업을 다시 수행할 수 있을 때까지의 시간을 설정
 	 * 
+	 * @param clock
+	 *            Clock the time is read from.
+	 * @param timers
+	 *            Timing wheel finishing the cooldown.
 	 * @param milliseconds
 	 *            Time until cooldown period is finished. // 재사용 대기 시간이 끝날 때까지의 시간
 	 */
-	protected Cooldown(final int milliseconds) {
+	protected Cooldown(final GameClock clock, final TimingWheel timers, final int milliseconds) {
+		this.clock = clock;
+		this.timers = timers;
 		this.milliseconds = milliseconds;
 		this.variance = 0;
 		this.duration = milliseconds;
-		this.time = 0;
+		this.finished = true;
+		this.slot = -1;
 	}
 
 	/**
@@ -38,15 +60,23 @@ public class Cooldown {
 	 * again, with a variation of +/- variance.
 	 * // 생성자, +/- 분산의 변동을 사용하여 작업을 다시 수행할 수 있을 때까지의 시간 설정
 	 * 
+	 * @param clock
+	 *            Clock the time is read from.
+	 * @param timers
+	 *            Timing wheel finishing the cooldown.
 	 * @param milliseconds
 	 *            Time until cooldown period is finished. // 재사용 대기 시간이 끝날 때까지의 시간
 	 * @param variance
 	 *            Variance in the cooldown period. // 재사용 대기 기간의 변동
 	 */
-	protected Cooldown(final int milliseconds, final int variance) {
+	protected Cooldown(final GameClock clock, final TimingWheel timers, final int milliseconds,
+			final int variance) {
+		this.clock = clock;
+		this.timers = timers;
 		this.milliseconds = milliseconds;
 		this.variance = variance;
-		this.time = 0;
+		this.finished = true;
+		this.slot = -1;
 	}
 
 	/**
@@ -55,20 +85,25 @@ public class Cooldown {
 	 * @return Cooldown state. // 재사용 대기 상태
 	 */
 	public final boolean checkFinished() {
-		if ((this.time == 0) || this.time + this.duration < System.currentTimeMillis()) {
-			return true;
-		}
-		return false;
+		return this.finished;
 	}
 
 	/**
 	 * Restarts the cooldown. // 재사용 대기열 다시 시작
 	 */
 	public final void reset() {
-		this.time = System.currentTimeMillis();
 		if (this.variance != 0){
-			this.duration = (this.milliseconds - this.variance) + (int) (Math.random() * (this.milliseconds + this.variance));
+			this.duration = (this.milliseconds - this.variance) + (int) (Core.getRandom().nextDouble() * (this.milliseconds + this.variance));
 		}
+		// Finished once the duration has fully passed, as when polled.
+		this.finished = false;
+		this.timers.schedule(this, this.clock.getMillis() + this.duration + 1);
+	}
 
+	/**
+	 * Marks the cooldown as finished, called by the timing wheel.
+	 */
+	void finish() {
+		this.finished = true;
 	}
 }
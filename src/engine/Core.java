@@ -3,10 +3,13 @@ package engine;
 import screen.*;
 
 import java.awt.*;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.logging.*;
 
 /**
@@ -23,6 +26,59 @@ public final class Core {
 	private static final int HEIGHT = 520;
 	/** Max fps of current screen.  // 최대 fps 설정 */
 	private static final int FPS = 60;
+	/** Presentation backend, "strategy" for page flipping or "direct". */
+	private static final String PRESENTER = System.getProperty(
+			"invaders.presenter", "strategy");
+	/** Number of buffers used for page flipping, 2 or 3. */
+	private static final int BUFFERS = Integer.getInteger("invaders.buffers", 2);
+	/** Sprite drawing path, "raster" to write pixels directly or "atlas". */
+	private static final String BLITTER = System.getProperty(
+			"invaders.blitter", "raster");
+	/** Window pixels per pixel of the logical framebuffer, 2, 3 or 4. */
+	private static final int WINDOW_SCALE = Integer.getInteger(
+			"invaders.scale", 2);
+	/** If the game screen draws its entities sorted by sprite and color. */
+	private static final boolean BATCHING = Boolean.parseBoolean(
+			System.getProperty("invaders.batching", "true"));
+	/**
+	 * Game screen draws per second between updates, 0 to draw on each
+	 * update, -1 for the refresh rate of the display.
+	 */
+	private static final int RENDER_RATE = Integer.getInteger(
+			"invaders.renderRate", 0);
+	/**
+	 * Microseconds spun before each frame instead of sleeping, trading CPU
+	 * time for steadier frame intervals.
+	 */
+	private static final int SPIN_MICROS = Integer.getInteger(
+			"invaders.spinMicros", 1000);
+	/**
+	 * Clock of the gameplay timing, "realtime" or "ticks" to advance it
+	 * one update at a time.
+	 */
+	private static final String CLOCK = System.getProperty("invaders.clock",
+			"realtime");
+	/** If the phases of the game screen update are timed. */
+	static final boolean PROFILING = Boolean.parseBoolean(
+			System.getProperty("invaders.profiling", "true"));
+	/** File the phase profile is written to as CSV on exit, if any. */
+	private static final String PROFILE_CSV = System.getProperty(
+			"invaders.profileCsv");
+	/**
+	 * If frames are skipped or simplified when they run over their time,
+	 * to keep the game speed.
+	 */
+	private static final boolean ADAPTIVE_RENDERING = Boolean.parseBoolean(
+			System.getProperty("invaders.adaptiveRendering", "true"));
+	/** Particles kept alive on the game screen for stress testing, 0 for none. */
+	private static final int PARTICLE_STRESS = Integer.getInteger(
+			"invaders.particleStress", 0);
+	/** If the game screen only repaints the regions that changed. */
+	private static final boolean DIRTY_RECTS = Boolean.getBoolean(
+			"invaders.dirtyRects");
+	/** If the repainted regions are outlined on screen, for debugging. */
+	private static final boolean DIRTY_OVERLAY = Boolean.getBoolean(
+			"invaders.dirtyOverlay");
 
 	/** DIFFICULT */
 	private static int DIFFICULTY = 0; // 0: easy  1: normal  2: hard 3: extra hard
@@ -37,11 +93,11 @@ public final class Core {
 			new Color(230, 230, 230),new Color(255,255,255)};
 
 	/** Max lives. //최대 생명 개수 */
-	private static final int MAX_LIVES = 3; // (1인용) 기본 생명 개수 설정
+	static final int MAX_LIVES = 3; // (1인용) 기본 생명 개수 설정
 	/** Levels between extra life. 추가로 주어지는 생명 개수 // */
-	private static final int EXTRA_LIFE_FRECUENCY = 3;
+	static final int EXTRA_LIFE_FRECUENCY = 3;
 	/** Total number of levels. // 총 레벨 7까지 */
-	private static final int NUM_LEVELS = 7;
+	static final int NUM_LEVELS = 7;
 
 	/** Difficulty settings for level 1.  // 레벨 1에 대한 난이도 설정 */
 	private static final GameSettings[] SETTINGS_LEVEL_1 =
@@ -99,6 +155,27 @@ public final class Core {
 	private static Handler fileHandler;
 	/** Logger handler for printing to console. // 콘솔로 인쇄하기 위한 로거 핸들러  */
 	private static ConsoleHandler consoleHandler;
+	/** Longest wait for the background tasks when closing, in ms. */
+	private static final long BACKGROUND_SHUTDOWN_TIMEOUT = 2000;
+	/** If the background tasks have been shut down. */
+	private static boolean backgroundClosed;
+	/** Runs the blocking file work away from the game loop. */
+	private static final BackgroundTasks BACKGROUND_TASKS =
+			new BackgroundTasks();
+	/** Source of the gameplay randomness, seeded to replay a game. */
+	private static Random random = new Random();
+	/** Clock the cooldowns are bound to. */
+	private static GameClock clock = "ticks".equals(CLOCK) ? new ManualClock()
+			: new RealTimeClock();
+	/** Timing wheel finishing the cooldowns. */
+	private static TimingWheel timers = new TimingWheel(clock.getMillis());
+	/** Times the phases of the game screen update. */
+	private static final PhaseProfiler PROFILER = new PhaseProfiler();
+	/** Skips or simplifies frames when they run over their time. */
+	private static final FrameBudget FRAME_BUDGET = new FrameBudget(
+			ADAPTIVE_RENDERING);
+	/** Paces the frames of every screen. */
+	private static final FramePacer FRAME_PACER = new FramePacer(SPIN_MICROS);
 
 
 	/**
@@ -108,11 +185,13 @@ public final class Core {
 	 *            Program args, ignored.
 	 */
 	public static void main(final String[] args) {
+		StartupTimeline.start();
 		try {
 			LOGGER.setUseParentHandlers(false);
 
-			fileHandler = new FileHandler("log");
-			fileHandler.setFormatter(new MinimalFormatter());
+			FileHandler logFile = new FileHandler("log");
+			logFile.setFormatter(new MinimalFormatter());
+			fileHandler = new BackgroundHandler(logFile, BACKGROUND_TASKS);
 
 			consoleHandler = new ConsoleHandler();
 			consoleHandler.setFormatter(new MinimalFormatter());
@@ -121,13 +200,28 @@ public final class Core {
 			LOGGER.addHandler(consoleHandler);
 			LOGGER.setLevel(Level.ALL);
 
+			// Closing the window exits without returning here, so the
+			// queued saves and log records are drained from a hook.
+			Runtime.getRuntime().addShutdownHook(new Thread(
+					Core::closeBackgroundTasks, "invaders-shutdown"));
+
 		} catch (Exception e) {
 			// TODO handle exception
 			e.printStackTrace();
 		}
 
-		frame = new Frame(WIDTH, HEIGHT);
+		long startupStep = System.nanoTime();
+		DrawManager.getInstance();
+		StartupTimeline.record("resources", startupStep);
+
+		startupStep = System.nanoTime();
+		frame = new Frame(WIDTH, HEIGHT, WINDOW_SCALE,
+				"strategy".equals(PRESENTER), BUFFERS);
+		StartupTimeline.record("window", startupStep);
 		DrawManager.getInstance().setFrame(frame);
+		DrawManager.getInstance().setDirtyRendering(DIRTY_RECTS, DIRTY_OVERLAY);
+		DrawManager.getInstance().setRasterBlitting("raster".equals(BLITTER));
+		DrawManager.getInstance().setBatching(BATCHING);
 		int width = frame.getWidth();
 		int height = frame.getHeight();
 
@@ -256,11 +350,49 @@ public final class Core {
 
 		} while (returnCode != 0);
 
-		fileHandler.flush();
-		fileHandler.close();
+		LOGGER.info(frame.getStatistics());
+		LOGGER.info(getDrawManager().getSpriteCacheStatistics());
+		LOGGER.info(getDrawManager().getDirtyRegionStatistics());
+		LOGGER.info(getDrawManager().getBatchStatistics());
+		LOGGER.info(FRAME_PACER.getStatistics());
+		LOGGER.info(FRAME_BUDGET.getStatistics());
+		LOGGER.info(timers.getStatistics());
+		LOGGER.info(PROFILER.dump());
+		if (PROFILING && PROFILE_CSV != null) {
+			try {
+				PROFILER.writeCsv(new File(PROFILE_CSV));
+			} catch (IOException e) {
+				LOGGER.warning("Could not write the phase profile: " + e);
+			}
+		}
+		closeBackgroundTasks();
 		System.exit(0);
 	}
 
+	/**
+	 * Waits for the queued background tasks, such as high score saves and
+	 * log writes, and closes the log file. Runs once, on the way out of
+	 * main or from the shutdown hook when the window is closed.
+	 */
+	private static synchronized void closeBackgroundTasks() {
+		if (backgroundClosed) {
+			return;
+		}
+		backgroundClosed = true;
+		LOGGER.info(BACKGROUND_TASKS.getStatistics());
+		if (fileHandler != null) {
+			fileHandler.flush();
+		}
+		if (!BACKGROUND_TASKS.shutdown(BACKGROUND_SHUTDOWN_TIMEOUT)
+				&& consoleHandler != null) {
+			consoleHandler.publish(new LogRecord(Level.WARNING,
+					"Background tasks still running at exit."));
+		}
+		if (fileHandler != null) {
+			fileHandler.close();
+		}
+	}
+
 	/**
 	 * Constructor, not called. // 생성자, 호출되지 않음
 	 */
@@ -304,6 +436,162 @@ public final class Core {
 		return FileManager.getInstance();
 	}
 
+	/**
+	 * Controls access to the background tasks.
+	 *
+	 * @return Application background tasks.
+	 */
+	public static BackgroundTasks getBackgroundTasks() {
+		return BACKGROUND_TASKS;
+	}
+
+	/**
+	 * Getter for the settings of a level.
+	 *
+	 * @param difficulty
+	 *            Difficulty, 0 for easy to 3 for extra hard.
+	 * @param level
+	 *            Level, from 1 to NUM_LEVELS.
+	 * @return Settings of the level at that difficulty.
+	 */
+	static GameSettings getLevelSettings(final int difficulty,
+			final int level) {
+		GameSettings[][] levels = { SETTINGS_LEVEL_1, SETTINGS_LEVEL_2,
+				SETTINGS_LEVEL_3, SETTINGS_LEVEL_4, SETTINGS_LEVEL_5,
+				SETTINGS_LEVEL_6, SETTINGS_LEVEL_7 };
+		return levels[level - 1][difficulty];
+	}
+
+	/**
+	 * Controls access to the gameplay randomness, such as cooldown variance
+	 * or which enemy shoots. Effects that do not change the game use their
+	 * own.
+	 *
+	 * @return Random number generator of the game.
+	 */
+	public static Random getRandom() {
+		return random;
+	}
+
+	/**
+	 * Seeds the gameplay randomness, so that a game with the same seed and
+	 * input plays out the same way.
+	 *
+	 * @param seed
+	 *            Seed of the random number generator.
+	 */
+	public static void setRandomSeed(final long seed) {
+		random = new Random(seed);
+	}
+
+	/**
+	 * Starts a game that can be replayed: the cooldowns left by the
+	 * previous one are dropped, and the clock, the timing wheel and the
+	 * gameplay randomness start over from the same state every time.
+	 *
+	 * @param seed
+	 *            Seed of the gameplay randomness.
+	 */
+	static void startReplay(final long seed) {
+		timers.cancelAll();
+		setClock(new ManualClock());
+		setRandomSeed(seed);
+	}
+
+	/**
+	 * Controls access to the gameplay clock.
+	 *
+	 * @return Clock the cooldowns are bound to.
+	 */
+	public static GameClock getClock() {
+		return clock;
+	}
+
+	/**
+	 * Replaces the gameplay clock, along with the timing wheel of the
+	 * cooldowns. Only cooldowns created afterwards use the new ones, so it
+	 * must be called before any cooldown is started.
+	 *
+	 * @param newClock
+	 *            Clock to bind the cooldowns to.
+	 * @throws IllegalStateException
+	 *             If cooldowns are running on the current wheel, as they
+	 *             would never finish.
+	 */
+	public static void setClock(final GameClock newClock) {
+		if (timers.getActiveCount() > 0) {
+			throw new IllegalStateException("Cannot replace the clock with "
+					+ timers.getActiveCount() + " cooldowns running.");
+		}
+		clock = newClock;
+		timers = new TimingWheel(newClock.getMillis());
+	}
+
+	/**
+	 * Advances the cooldowns to the current time of the clock, finishing
+	 * the ones that are due. Called once per update.
+	 */
+	public static void advanceTimers() {
+		timers.advance(clock.getMillis());
+	}
+
+	/**
+	 * Controls access to the phase profiler.
+	 *
+	 * @return Application phase profiler.
+	 */
+	public static PhaseProfiler getProfiler() {
+		return PROFILER;
+	}
+
+	/**
+	 * Controls access to the frame budget.
+	 *
+	 * @return Application frame budget.
+	 */
+	public static FrameBudget getFrameBudget() {
+		return FRAME_BUDGET;
+	}
+
+	/**
+	 * Controls access to the frame pacer.
+	 *
+	 * @return Application frame pacer.
+	 */
+	public static FramePacer getFramePacer() {
+		return FRAME_PACER;
+	}
+
+	/**
+	 * Getter for the rate screens that interpolate are drawn at.
+	 *
+	 * @return Draws per second, 0 to draw on each update.
+	 */
+	public static int getRenderRate() {
+		if (RENDER_RATE >= 0) {
+			return RENDER_RATE;
+		}
+		if (GraphicsEnvironment.isHeadless()) {
+			return FPS;
+		}
+		int refreshRate = GraphicsEnvironment.getLocalGraphicsEnvironment()
+				.getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+		if (refreshRate == DisplayMode.REFRESH_RATE_UNKNOWN) {
+			return FPS;
+		}
+		return refreshRate;
+	}
+
+	/**
+	 * Getter for the particles the game screen keeps alive to stress test
+	 * the effects.
+	 *
+	 * @return Number of particles, 0 when not stress testing.
+	 */
+	public static int getParticleStress() {
+		return PARTICLE_STRESS;
+	}
+
 	/**
 	 * Controls creation of new cooldowns. // 새로운 재사용 대기열의 생성 제어
 	 *
@@ -312,7 +600,7 @@ public final class Core {
 	 * @return A new cooldown.
 	 */
 	public static Cooldown getCooldown(final int milliseconds) {
-		return new Cooldown(milliseconds);
+		return new Cooldown(clock, timers, milliseconds);
 	}
 
 	/**
@@ -326,6 +614,6 @@ public final class Core {
 	 */
 	public static Cooldown getVariableCooldown(final int milliseconds,
 											   final int variance) {
-		return new Cooldown(milliseconds, variance);
+		return new Cooldown(clock, timers, milliseconds, variance);
 	}
 }
\ No newline at end of file
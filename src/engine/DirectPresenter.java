@@ -0,0 +1,47 @@
+package engine;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws finished frames straight onto the frame's graphics context. Only the
+ * regions that changed are copied, each one with a single scaled drawImage.
+ */
+final class DirectPresenter extends Presenter {
+
+	/** Frame to draw on. */
+	private final Frame frame;
+	/** Graphics context of the frame. */
+	private Graphics graphics;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param frame
+	 *            Frame to draw on.
+	 * @param scale
+	 *            Window pixels per pixel of the frame.
+	 */
+	DirectPresenter(final Frame frame, final int scale) {
+		super(scale);
+		this.frame = frame;
+	}
+
+	@Override
+	protected void show(final BufferedImage image,
+			final DirtyRegions regions) {
+		if (this.graphics == null) {
+			this.graphics = this.frame.getGraphics();
+		}
+		Insets insets = this.frame.getInsets();
+		regions.blit(this.graphics, image, insets.left, insets.top,
+				this.scale);
+		regions.drawOverlay(this.graphics, insets.left, insets.top,
+				this.scale);
+	}
+
+	@Override
+	protected String getName() {
+		return "Direct";
+	}
+}
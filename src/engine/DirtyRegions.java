@@ -0,0 +1,303 @@
+package engine;
+
+import java.awt.*;
+
+/**
+ * Keeps track of the areas of the back buffer drawn on each frame, so that
+ * incremental frames only erase and present what changed since the previous
+ * one. Regions are stored as (x, y, width, height) runs in int arrays to
+ * avoid allocating on every frame. Render targets outside the engine can
+ * only copy the regions; the tracking is left to the DrawManager.
+ */
+public final class DirtyRegions {
+
+	/** Maximum regions tracked per frame before repainting everything. */
+	private static final int MAX_REGIONS = 256;
+	/** Portion of the screen above which everything is repainted. */
+	private static final double COALESCE_RATIO = 0.5;
+	/** Color of the debug overlay. */
+	private static final Color OVERLAY_COLOR = Color.MAGENTA;
+
+	/** Regions drawn on the current frame. */
+	private int[] current;
+	/** Number of regions drawn on the current frame. */
+	private int currentCount;
+	/** Regions drawn on the previous frame. */
+	private int[] previous;
+	/** Number of regions drawn on the previous frame. */
+	private int previousCount;
+	/** Regions to present, previous and current ones merged. */
+	private final int[] present;
+	/** Number of regions to present. */
+	private int presentCount;
+	/** Screen width. */
+	private int width;
+	/** Screen height. */
+	private int height;
+	/** If the whole screen has to be repainted this frame. */
+	private boolean full;
+	/**
+	 * If regions were dropped on a frame, so the next one cannot erase
+	 * everything drawn and must repaint the whole screen.
+	 */
+	private boolean forceFull;
+	/** If the presented regions are outlined on screen. */
+	private boolean overlay;
+	/** Frames presented. */
+	private long frames;
+	/** Total pixels presented. */
+	private long presentedPixels;
+
+	/**
+	 * Constructor.
+	 */
+	DirtyRegions() {
+		this.current = new int[MAX_REGIONS * 4];
+		this.previous = new int[MAX_REGIONS * 4];
+		this.present = new int[MAX_REGIONS * 8];
+		this.full = true;
+	}
+
+	/**
+	 * Starts a frame that repaints the whole screen.
+	 *
+	 * @param screenWidth
+	 *            Screen width.
+	 * @param screenHeight
+	 *            Screen height.
+	 */
+	void startFull(final int screenWidth, final int screenHeight) {
+		this.width = screenWidth;
+		this.height = screenHeight;
+		this.full = true;
+		this.forceFull = false;
+		this.currentCount = 0;
+	}
+
+	/**
+	 * Checks if the next frame must repaint the whole screen, because the
+	 * previous one drew more regions than could be tracked.
+	 *
+	 * @return True if the next frame has to be started with startFull.
+	 */
+	boolean needsFullFrame() {
+		return this.forceFull;
+	}
+
+	/**
+	 * Starts an incremental frame, erasing what was drawn on the previous
+	 * one.
+	 *
+	 * @param graphics
+	 *            Graphics of the back buffer.
+	 * @param background
+	 *            Background color.
+	 */
+	void startIncremental(final Graphics graphics, final Color background) {
+		this.currentCount = 0;
+		graphics.setColor(background);
+		for (int i = 0; i < this.previousCount * 4; i += 4) {
+			graphics.fillRect(this.previous[i], this.previous[i + 1],
+					this.previous[i + 2], this.previous[i + 3]);
+		}
+	}
+
+	/**
+	 * Marks an area as drawn on the current frame.
+	 *
+	 * @param x
+	 *            Left side of the area.
+	 * @param y
+	 *            Upper side of the area.
+	 * @param areaWidth
+	 *            Width of the area.
+	 * @param areaHeight
+	 *            Height of the area.
+	 */
+	void add(final int x, final int y, final int areaWidth,
+			final int areaHeight) {
+		int left = Math.max(0, x);
+		int top = Math.max(0, y);
+		int right = Math.min(this.width, x + areaWidth);
+		int bottom = Math.min(this.height, y + areaHeight);
+		if (right <= left || bottom <= top) {
+			return;
+		}
+		if (this.currentCount == MAX_REGIONS) {
+			this.full = true;
+			this.forceFull = true;
+			return;
+		}
+		int i = this.currentCount * 4;
+		this.current[i] = left;
+		this.current[i + 1] = top;
+		this.current[i + 2] = right - left;
+		this.current[i + 3] = bottom - top;
+		this.currentCount++;
+	}
+
+	/**
+	 * Ends the frame, building the list of regions to present: the union of
+	 * what was erased and what was drawn, merged where they overlap, or the
+	 * whole screen if that covers too much of it.
+	 */
+	void finish() {
+		this.presentCount = 0;
+		if (!this.full) {
+			for (int i = 0; i < this.previousCount * 4; i += 4) {
+				merge(this.previous, i);
+			}
+			for (int i = 0; i < this.currentCount * 4; i += 4) {
+				merge(this.current, i);
+			}
+
+			long area = 0;
+			for (int i = 0; i < this.presentCount * 4; i += 4) {
+				area += (long) this.present[i + 2] * this.present[i + 3];
+			}
+			if (area > COALESCE_RATIO * this.width * this.height) {
+				this.full = true;
+			}
+		}
+		if (this.full) {
+			this.presentCount = 1;
+			this.present[0] = 0;
+			this.present[1] = 0;
+			this.present[2] = this.width;
+			this.present[3] = this.height;
+		}
+
+		this.frames++;
+		for (int i = 0; i < this.presentCount * 4; i += 4) {
+			this.presentedPixels += (long) this.present[i + 2]
+					* this.present[i + 3];
+		}
+
+		int[] swap = this.previous;
+		this.previous = this.current;
+		this.previousCount = this.currentCount;
+		this.current = swap;
+		this.currentCount = 0;
+		this.full = false;
+	}
+
+	/**
+	 * Adds a region to the present list, growing the first region it
+	 * overlaps instead when there is one.
+	 *
+	 * @param regions
+	 *            Array holding the region.
+	 * @param index
+	 *            Offset of the region in the array.
+	 */
+	private void merge(final int[] regions, final int index) {
+		int left = regions[index];
+		int top = regions[index + 1];
+		int right = left + regions[index + 2];
+		int bottom = top + regions[index + 3];
+
+		for (int i = 0; i < this.presentCount * 4; i += 4) {
+			int presentLeft = this.present[i];
+			int presentTop = this.present[i + 1];
+			int presentRight = presentLeft + this.present[i + 2];
+			int presentBottom = presentTop + this.present[i + 3];
+			if (left <= presentRight && right >= presentLeft
+					&& top <= presentBottom && bottom >= presentTop) {
+				this.present[i] = Math.min(left, presentLeft);
+				this.present[i + 1] = Math.min(top, presentTop);
+				this.present[i + 2] = Math.max(right, presentRight)
+						- this.present[i];
+				this.present[i + 3] = Math.max(bottom, presentBottom)
+						- this.present[i + 1];
+				return;
+			}
+		}
+
+		int i = this.presentCount * 4;
+		this.present[i] = left;
+		this.present[i + 1] = top;
+		this.present[i + 2] = right - left;
+		this.present[i + 3] = bottom - top;
+		this.presentCount++;
+	}
+
+	/**
+	 * Copies the regions to present from the back buffer.
+	 *
+	 * @param graphics
+	 *            Graphics to present on.
+	 * @param image
+	 *            Back buffer.
+	 * @param offsetX
+	 *            Horizontal position of the back buffer on the target.
+	 * @param offsetY
+	 *            Vertical position of the back buffer on the target.
+	 * @param scale
+	 *            Target pixels per pixel of the back buffer.
+	 */
+	public void blit(final Graphics graphics, final Image image,
+			final int offsetX, final int offsetY, final int scale) {
+		for (int i = 0; i < this.presentCount * 4; i += 4) {
+			int x = this.present[i];
+			int y = this.present[i + 1];
+			int right = x + this.present[i + 2];
+			int bottom = y + this.present[i + 3];
+			graphics.drawImage(image, offsetX + x * scale,
+					offsetY + y * scale, offsetX + right * scale,
+					offsetY + bottom * scale, x, y, right, bottom, null);
+		}
+	}
+
+	/**
+	 * Outlines the presented regions, if the debug overlay is enabled. The
+	 * outlines are drawn on the target only, and the regions are presented
+	 * again on the next frame, which erases them.
+	 *
+	 * @param graphics
+	 *            Graphics to present on.
+	 * @param offsetX
+	 *            Horizontal position of the back buffer on the target.
+	 * @param offsetY
+	 *            Vertical position of the back buffer on the target.
+	 * @param scale
+	 *            Target pixels per pixel of the back buffer.
+	 */
+	void drawOverlay(final Graphics graphics, final int offsetX,
+			final int offsetY, final int scale) {
+		if (!this.overlay) {
+			return;
+		}
+		graphics.setColor(OVERLAY_COLOR);
+		for (int i = 0; i < this.presentCount * 4; i += 4) {
+			graphics.drawRect(offsetX + this.present[i] * scale,
+					offsetY + this.present[i + 1] * scale,
+					this.present[i + 2] * scale - 1,
+					this.present[i + 3] * scale - 1);
+		}
+	}
+
+	/**
+	 * Enables or disables the debug overlay.
+	 *
+	 * @param overlay
+	 *            If the presented regions are outlined on screen.
+	 */
+	void setOverlay(final boolean overlay) {
+		this.overlay = overlay;
+	}
+
+	/**
+	 * Summarizes the presented pixels.
+	 *
+	 * @return Average pixels presented per frame.
+	 */
+	String getStatistics() {
+		if (this.frames == 0 || this.width == 0) {
+			return "Dirty regions: no frames presented.";
+		}
+		long average = this.presentedPixels / this.frames;
+		return String.format("Dirty regions: %d frames, %d px/frame "
+				+ "presented (%.1f%% of the screen)", this.frames, average,
+				100.0 * average / (this.width * this.height));
+	}
+}
@@ -1,16 +1,19 @@
 package engine;
 
 import entity.Entity;
-import entity.Ship;
+import entity.ParticlePool;
 import screen.Screen;
 
-import java.awt.Frame;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.util.LinkedHashMap;
+import java.awt.image.DataBufferInt;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
 /**
@@ -21,20 +24,39 @@ import java.util.logging.Logger;
  */
 public final class DrawManager {
 
+	/** Threads loading the resources at startup. */
+	private static final int LOADER_THREADS = 2;
+	/** Screen units per pixel of the logical framebuffer. */
+	private static final int PIXEL_SIZE = 2;
+	/** Names of the difficulty levels. */
+	private static final String[] DIFFICULTY_NAMES = { "easy", "normal",
+			"hard", "extra hard" };
+	/** Names of the player modes. */
+	private static final String[] PLAYER_MODE_NAMES = { "single player",
+			"two players" };
+	/** Ship colors to choose from, two for each color set. */
+	private static final Color[] COLOR_SET = { Color.GREEN, Color.YELLOW,
+			new Color(92, 209, 229), new Color(197, 254, 221),
+			new Color(253, 254, 228), new Color(253, 219, 249),
+			new Color(208, 219, 249), new Color(255, 251, 209),
+			new Color(230, 230, 230), new Color(255, 255, 255) };
+
 	/** Singleton instance of the class. // 오직 한 개의 클래스 인스턴스만 갖도록  */
 	private static DrawManager instance;
-	/** Current frame. // 현재 프레임 */
-	private static Frame frame;
+	/** Current render target. // 현재 프레임 */
+	private static RenderTarget renderTarget;
 	/** FileManager instance. // */
 	private static FileManager fileManager;
 	/** Application logger. */
 	private static Logger logger;
-	/** Graphics context. */
-	private static Graphics graphics;
-	/** Buffer Graphics. */
+	/** Buffer Graphics, drawing in screen units. */
 	private static Graphics backBufferGraphics;
-	/** Buffer image. */
+	/** Buffer Graphics, drawing in framebuffer pixels. */
+	private static Graphics pixelGraphics;
+	/** Buffer image, the logical framebuffer at half the screen size. */
 	private static BufferedImage backBuffer;
+	/** Pixels backing the buffer image, fetched when raster blitting. */
+	private static int[] backBufferPixels;
 	/** Normal sized font. */
 	private static Font fontRegular;
 	/** Normal sized font properties. */
@@ -44,9 +66,56 @@ public final class DrawManager {
 	/** Big sized font properties. */
 	private static FontMetrics fontBigMetrics;
 
-	/** Sprite types mapped to their images. */
-	private static Map<SpriteType, boolean[][]> spriteMap;
-	private static Map<SpriteType, boolean[][]> spriteMap2;
+	/** Sprite images, as packed bit masks. */
+	private static SpriteMasks spriteMasks;
+	/** Tinted sprites packed into a single image. */
+	private static SpriteAtlas spriteAtlas;
+	/** Cached score text of the HUD. */
+	private static HudText scoreText;
+	/** Cached lives text of the HUD. */
+	private static HudText livesText;
+	/** Ship colors mapped to the darker color of their life icons. */
+	private static Map<Color, Color> dimmedColors;
+	/** Draws sprites straight into the buffer pixels. */
+	private static SpriteBlitter spriteBlitter;
+	/** If sprites are drawn by the raster blitter instead of Java2D. */
+	private static boolean rasterBlitting;
+	/** Areas of the back buffer drawn on each frame. */
+	private static DirtyRegions dirtyRegions;
+	/** If screens may ask for incremental frames. */
+	private static boolean dirtyRendering;
+	/** If a frame has been presented since the application started. */
+	private static boolean firstFramePresented;
+	/** Screen drawn on the last frame. */
+	private static Screen lastScreen;
+	/** Cached static content of a menu screen. */
+	private static BufferedImage staticLayer;
+	/** Screen the static layer was drawn for. */
+	private static Screen staticLayerScreen;
+	/** State of the screen the static layer was drawn with. */
+	private static int staticLayerKey;
+	/** Back buffer graphics, kept while drawing the static layer. */
+	private static Graphics savedGraphics;
+	/** Back buffer pixel graphics, kept while drawing the static layer. */
+	private static Graphics savedPixelGraphics;
+	/** Sprites queued to be drawn sorted by state. */
+	private static RenderQueue renderQueue;
+	/** If screens may queue their sprites in batches. */
+	private static boolean batching;
+	/** If a batch is being queued. */
+	private static boolean batchOpen;
+	/** Sprite last drawn. */
+	private static SpriteType lastSpriteType;
+	/** Color of the sprite last drawn. */
+	private static Color lastSpriteColor;
+	/** Batches drawn since the application started. */
+	private static long batchCount;
+	/** Sprites drawn in batches. */
+	private static long batchedSprites;
+	/** State changes while drawing the batches. */
+	private static long batchStateChanges;
+	/** State changes the batches would have had drawn in queued order. */
+	private static long queuedStateChanges;
 
 	/** Sprite types. */
 	public enum SpriteType {
@@ -77,60 +146,75 @@ public final class DrawManager {
 		Explosion
 	}
 
+	/** Layers sprites are drawn on, from the back to the front. */
+	public enum Layer {
+		/** Behind everything else. */
+		BACKGROUND,
+		/** Ships and bullets. */
+		ENTITIES,
+		/** In front of the entities. */
+		EFFECTS
+	}
+
 	/**
 	 * Private constructor.
 	 */
 	private DrawManager() {
 		fileManager = Core.getFileManager();
 		logger = Core.getLogger();
+		dirtyRegions = new DirtyRegions();
+		renderQueue = new RenderQueue();
+		dimmedColors = new HashMap<Color, Color>();
 		logger.info("Started loading resources.");
 
+		// Sprites and fonts do not depend on each other, so they are loaded
+		// at the same time.
+		ExecutorService loader = Executors.newFixedThreadPool(
+				LOADER_THREADS, runnable -> {
+					Thread thread = new Thread(runnable, "asset-loader");
+					thread.setDaemon(true);
+					return thread;
+				});
 		try {
-			spriteMap = new LinkedHashMap<SpriteType, boolean[][]>();
-
-			spriteMap.put(SpriteType.Ship, new boolean[13][8]);
-
-			spriteMap.put(SpriteType.ShipDestroyed, new boolean[13][8]);
-			spriteMap.put(SpriteType.Bullet, new boolean[3][5]);
-			spriteMap.put(SpriteType.EnemyBullet, new boolean[3][5]);
-			spriteMap.put(SpriteType.EnemyShipA1, new boolean[12][8]);
-			spriteMap.put(SpriteType.EnemyShipA2, new boolean[12][8]);
-			spriteMap.put(SpriteType.EnemyShipB1, new boolean[12][8]);
-			spriteMap.put(SpriteType.EnemyShipB2, new boolean[12][8]);
-			spriteMap.put(SpriteType.EnemyShipC1, new boolean[12][8]);
-			spriteMap.put(SpriteType.EnemyShipC2, new boolean[12][8]);
-			spriteMap.put(SpriteType.EnemyShipSpecial, new boolean[16][7]);
-			spriteMap.put(SpriteType.Explosion, new boolean[13][7]);
-
-//			spriteMap2 = new LinkedHashMap<SpriteType, boolean[][]>();
-//
-//			spriteMap2.put(SpriteType.Ship, new boolean[13][8]);
-//
-//			spriteMap2.put(SpriteType.ShipDestroyed, new boolean[13][8]);
-//			spriteMap2.put(SpriteType.Bullet, new boolean[3][5]);
-//			spriteMap2.put(SpriteType.EnemyBullet, new boolean[3][5]);
-//			spriteMap2.put(SpriteType.EnemyShipA1, new boolean[12][8]);
-//			spriteMap2.put(SpriteType.EnemyShipA2, new boolean[12][8]);
-//			spriteMap2.put(SpriteType.EnemyShipB1, new boolean[12][8]);
-//			spriteMap2.put(SpriteType.EnemyShipB2, new boolean[12][8]);
-//			spriteMap2.put(SpriteType.EnemyShipC1, new boolean[12][8]);
-//			spriteMap2.put(SpriteType.EnemyShipC2, new boolean[12][8]);
-//			spriteMap2.put(SpriteType.EnemyShipSpecial, new boolean[16][7]);
-//			spriteMap2.put(SpriteType.Explosion, new boolean[13][7]);
-
-			fileManager.loadSprite(spriteMap);
-			// fileManager.loadSprite(spriteMap2);
-			logger.info("Finished loading the sprites.");
-
-			// Font loading.
-			fontRegular = fileManager.loadFont(14f);
-			fontBig = fileManager.loadFont(24f);
-			logger.info("Finished loading the fonts.");
-
-		} catch (IOException e) {
-			logger.warning("Loading failed.");
-		} catch (FontFormatException e) {
-			logger.warning("Font formating failed.");
+			Future<?> sprites = loader.submit(() -> {
+				long start = System.nanoTime();
+				spriteMasks = fileManager.loadSprite();
+				spriteAtlas = new SpriteAtlas(spriteMasks,
+						SpriteAtlas.DEFAULT_CAPACITY);
+				spriteBlitter = new SpriteBlitter(spriteMasks);
+				StartupTimeline.record("sprites", start);
+				logger.info("Finished loading the sprites ("
+						+ spriteMasks.getRowBytes() + " bytes).");
+				return null;
+			});
+			Future<?> fonts = loader.submit(() -> {
+				long start = System.nanoTime();
+				fontRegular = fileManager.loadFont(14f);
+				fontBig = fileManager.loadFont(24f);
+				StartupTimeline.record("fonts", start);
+				logger.info("Finished loading the fonts.");
+				return null;
+			});
+
+			try {
+				sprites.get();
+			} catch (ExecutionException e) {
+				// Nothing can be drawn without the sprites.
+				throw new IllegalStateException("Could not load the sprites: "
+						+ e.getCause().getMessage(), e.getCause());
+			}
+			fonts.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof FontFormatException) {
+				logger.warning("Font formating failed.");
+			} else {
+				logger.warning("Loading failed.");
+			}
+		} catch (InterruptedException e) {
+			logger.warning("Loading interrupted.");
+			Thread.currentThread().interrupt();
+		} finally {
+			loader.shutdown();
 		}
 	}
 
@@ -153,32 +237,180 @@ public final class DrawManager {
 	 *            Frame to draw on.
 	 */
 	public void setFrame(final Frame currentFrame) {
-		frame = currentFrame;
+		setRenderTarget(currentFrame);
+	}
+
+	/**
+	 * Sets where the finished frames are presented, such as a frame on
+	 * screen or an offscreen image when there is no display.
+	 *
+	 * @param target
+	 *            Render target to present on.
+	 */
+	public void setRenderTarget(final RenderTarget target) {
+		renderTarget = target;
+	}
+
+	/**
+	 * Enables incremental frames for the screens that ask for them.
+	 *
+	 * @param enabled
+	 *            If only the regions that changed are repainted.
+	 * @param overlay
+	 *            If the repainted regions are outlined on screen.
+	 */
+	public void setDirtyRendering(final boolean enabled,
+			final boolean overlay) {
+		dirtyRendering = enabled;
+		dirtyRegions.setOverlay(overlay);
+	}
+
+	/**
+	 * Chooses how sprites are drawn.
+	 *
+	 * @param enabled
+	 *            True to write sprites straight into the buffer pixels,
+	 *            false to draw them from the sprite atlas through Java2D.
+	 */
+	public void setRasterBlitting(final boolean enabled) {
+		rasterBlitting = enabled;
 	}
 
 	/**
-	 * First part of the drawing process. Initialices buffers, draws the
-	 * background and prepares the images.
+	 * Chooses if sprites drawn between beginBatch and flushBatch are sorted.
+	 *
+	 * @param enabled
+	 *            True to sort them, false to draw them right away.
+	 */
+	public void setBatching(final boolean enabled) {
+		batching = enabled;
+	}
+
+	/**
+	 * First part of the drawing process. Clears the back buffer, which is
+	 * kept between frames and only rebuilt when the screen size changes.
 	 *
 	 * @param screen
 	 *            Screen to draw in.
 	 */
 	public void initDrawing(final Screen screen) {
-		backBuffer = new BufferedImage(screen.getWidth(), screen.getHeight(),
-				BufferedImage.TYPE_INT_RGB);
+		initDrawing(screen, false);
+	}
 
-		graphics = frame.getGraphics();
-		backBufferGraphics = backBuffer.getGraphics();
+	/**
+	 * First part of the drawing process. Incremental frames only erase what
+	 * was drawn on the previous frame, so every drawing of the screen must
+	 * go through the methods that mark dirty regions: entities, score,
+	 * lives, lines, countdown and pause.
+	 *
+	 * @param screen
+	 *            Screen to draw in.
+	 * @param incremental
+	 *            If the screen supports incremental frames.
+	 */
+	public void initDrawing(final Screen screen, final boolean incremental) {
+		boolean resized = backBuffer == null
+				|| backBuffer.getWidth() != toPixels(screen.getWidth())
+				|| backBuffer.getHeight() != toPixels(screen.getHeight());
+		if (resized) {
+			createBackBuffer(screen.getWidth(), screen.getHeight());
+		}
 
-		backBufferGraphics.setColor(Color.BLACK);
-		backBufferGraphics
-				.fillRect(0, 0, screen.getWidth(), screen.getHeight());
+		if (dirtyRendering && incremental && !resized
+				&& screen == lastScreen && !dirtyRegions.needsFullFrame()) {
+			dirtyRegions.startIncremental(pixelGraphics, Color.BLACK);
+		} else {
+			dirtyRegions.startFull(backBuffer.getWidth(),
+					backBuffer.getHeight());
+			backBufferGraphics.setColor(Color.BLACK);
+			backBufferGraphics
+					.fillRect(0, 0, screen.getWidth(), screen.getHeight());
+		}
+		lastScreen = screen;
+		lastSpriteType = null;
+		lastSpriteColor = null;
+
+		// drawBorders(screen);
+		// drawGrid(screen);
+	}
+
+	/**
+	 * Allocates the back buffer, its graphics contexts and the font
+	 * metrics. Screens keep drawing in screen units, which the back buffer
+	 * graphics scale down to the logical framebuffer.
+	 *
+	 * @param width
+	 *            Width of the screen.
+	 * @param height
+	 *            Height of the screen.
+	 */
+	private void createBackBuffer(final int width, final int height) {
+		if (backBufferGraphics != null) {
+			backBufferGraphics.dispose();
+			pixelGraphics.dispose();
+		}
+		backBuffer = new BufferedImage(toPixels(width), toPixels(height),
+				BufferedImage.TYPE_INT_RGB);
+		backBufferPixels = null;
+		pixelGraphics = backBuffer.getGraphics();
+		backBufferGraphics = createScaledGraphics(backBuffer);
 
 		fontRegularMetrics = backBufferGraphics.getFontMetrics(fontRegular);
 		fontBigMetrics = backBufferGraphics.getFontMetrics(fontBig);
+		scoreText = new HudText(fontRegular, fontRegularMetrics, 4,
+				PIXEL_SIZE);
+		livesText = new HudText(fontRegular, fontRegularMetrics, 0,
+				PIXEL_SIZE);
+		logger.info("Created " + backBuffer.getWidth() + "x"
+				+ backBuffer.getHeight() + " back buffer.");
+	}
 
-		// drawBorders(screen);
-		// drawGrid(screen);
+	/**
+	 * Creates a graphics context that draws on an image in screen units.
+	 *
+	 * @param image
+	 *            Image at the logical framebuffer resolution.
+	 * @return Graphics context of the image.
+	 */
+	private static Graphics createScaledGraphics(final BufferedImage image) {
+		Graphics2D graphics = image.createGraphics();
+		graphics.scale(1.0 / PIXEL_SIZE, 1.0 / PIXEL_SIZE);
+		return graphics;
+	}
+
+	/**
+	 * Converts a size in screen units to logical framebuffer pixels,
+	 * rounding up.
+	 *
+	 * @param units
+	 *            Size in screen units.
+	 * @return Size in pixels.
+	 */
+	static int toPixels(final int units) {
+		return (units + PIXEL_SIZE - 1) / PIXEL_SIZE;
+	}
+
+	/**
+	 * Marks an area, given in screen units, as drawn.
+	 *
+	 * @param positionX
+	 *            Left side of the area.
+	 * @param positionY
+	 *            Upper side of the area.
+	 * @param width
+	 *            Width of the area.
+	 * @param height
+	 *            Height of the area.
+	 */
+	private void markDirty(final int positionX, final int positionY,
+			final int width, final int height) {
+		int left = Math.floorDiv(positionX, PIXEL_SIZE);
+		int top = Math.floorDiv(positionY, PIXEL_SIZE);
+		dirtyRegions.add(left, top,
+				Math.floorDiv(positionX + width + PIXEL_SIZE - 1, PIXEL_SIZE)
+						- left,
+				Math.floorDiv(positionY + height + PIXEL_SIZE - 1, PIXEL_SIZE)
+						- top);
 	}
 
 	/**
@@ -188,8 +420,79 @@ public final class DrawManager {
 	 *            Screen to draw on.
 	 */
 	public void completeDrawing(final Screen screen) {
-		graphics.drawImage(backBuffer, frame.getInsets().left,
-				frame.getInsets().top, frame);
+		dirtyRegions.finish();
+		renderTarget.present(backBuffer, dirtyRegions);
+		if (!firstFramePresented) {
+			firstFramePresented = true;
+			StartupTimeline.firstFrame();
+		}
+	}
+
+	/**
+	 * Starts drawing the static content of a screen, the part that does not
+	 * change from frame to frame. If it was already drawn for this screen
+	 * and state, the cached copy is drawn on the back buffer instead and
+	 * nothing has to be drawn again.
+	 *
+	 * @param screen
+	 *            Screen to draw in.
+	 * @param key
+	 *            State of the screen the static content depends on.
+	 * @return True if the static content has to be drawn, followed by a
+	 *         call to endStaticLayer.
+	 */
+	public boolean beginStaticLayer(final Screen screen, final int key) {
+		if (staticLayer != null && staticLayerScreen == screen
+				&& staticLayerKey == key
+				&& staticLayer.getWidth() == backBuffer.getWidth()
+				&& staticLayer.getHeight() == backBuffer.getHeight()) {
+			pixelGraphics.drawImage(staticLayer, 0, 0, null);
+			dirtyRegions.add(0, 0, staticLayer.getWidth(),
+					staticLayer.getHeight());
+			return false;
+		}
+
+		if (staticLayer == null
+				|| staticLayer.getWidth() != backBuffer.getWidth()
+				|| staticLayer.getHeight() != backBuffer.getHeight()) {
+			staticLayer = new BufferedImage(backBuffer.getWidth(),
+					backBuffer.getHeight(), BufferedImage.TYPE_INT_RGB);
+		}
+		staticLayerScreen = screen;
+		staticLayerKey = key;
+		savedGraphics = backBufferGraphics;
+		savedPixelGraphics = pixelGraphics;
+		backBufferGraphics = createScaledGraphics(staticLayer);
+		pixelGraphics = staticLayer.getGraphics();
+		pixelGraphics.setColor(Color.BLACK);
+		pixelGraphics.fillRect(0, 0, staticLayer.getWidth(),
+				staticLayer.getHeight());
+		return true;
+	}
+
+	/**
+	 * Ends drawing the static content of a screen and draws it on the back
+	 * buffer.
+	 *
+	 * @param screen
+	 *            Screen to draw in.
+	 */
+	public void endStaticLayer(final Screen screen) {
+		backBufferGraphics.dispose();
+		pixelGraphics.dispose();
+		backBufferGraphics = savedGraphics;
+		pixelGraphics = savedPixelGraphics;
+		savedGraphics = null;
+		savedPixelGraphics = null;
+		pixelGraphics.drawImage(staticLayer, 0, 0, null);
+	}
+
+	/**
+	 * Forgets the cached static content, so that it is drawn again on the
+	 * next frame.
+	 */
+	public void invalidateStaticLayer() {
+		staticLayerScreen = null;
 	}
 
 	/**
@@ -204,17 +507,223 @@ public final class DrawManager {
 	 */
 	public void drawEntity(final Entity entity, final int positionX,
 						   final int positionY) {
-		boolean[][] image = spriteMap.get(entity.getSpriteType());
+		drawEntity(entity, positionX, positionY, Layer.ENTITIES);
+	}
 
-		backBufferGraphics.setColor(entity.getColor());
+	/**
+	 * Draws an entity on a layer. Inside a batch, it is only queued and
+	 * drawn when the batch is flushed.
+	 *
+	 * @param entity
+	 *            Entity to be drawn.
+	 * @param positionX
+	 *            Coordinates for the left side of the image.
+	 * @param positionY
+	 *            Coordinates for the upper side of the image.
+	 * @param layer
+	 *            Layer the entity is drawn on.
+	 */
+	public void drawEntity(final Entity entity, final int positionX,
+			final int positionY, final Layer layer) {
+		if (batchOpen) {
+			renderQueue.add(entity.getSpriteType(), entity.getColor(),
+					positionX, positionY, layer);
+		} else {
+			drawSprite(entity.getSpriteType(), entity.getColor(), positionX,
+					positionY);
+		}
+	}
+
+	/**
+	 * Starts queuing the entities drawn, so that they are drawn by layer,
+	 * sprite and color when the batch is flushed. Does nothing if batching
+	 * is disabled.
+	 */
+	public void beginBatch() {
+		batchOpen = batching;
+	}
+
+	/**
+	 * Draws the entities queued since beginBatch, sorted so that sprites
+	 * sharing the same image and color are drawn one after the other.
+	 */
+	public void flushBatch() {
+		if (!batchOpen) {
+			return;
+		}
+		batchOpen = false;
+		renderQueue.sort();
+		long changes = 0;
+		for (int i = 0; i < renderQueue.size(); i++) {
+			changes += drawSprite(renderQueue.getSpriteType(i),
+					renderQueue.getColor(i), renderQueue.getPositionX(i),
+					renderQueue.getPositionY(i));
+		}
+		batchCount++;
+		batchedSprites += renderQueue.size();
+		batchStateChanges += changes;
+		queuedStateChanges += renderQueue.getQueuedStateChanges();
+		renderQueue.clear();
+	}
+
+	/**
+	 * Draws a sprite in the given color.
+	 *
+	 * @param spriteType
+	 *            Sprite to draw.
+	 * @param color
+	 *            Color of the sprite.
+	 * @param positionX
+	 *            Coordinates for the left side of the image.
+	 * @param positionY
+	 *            Coordinates for the upper side of the image.
+	 * @return 1 if the sprite or color differ from the last sprite drawn,
+	 *         0 otherwise.
+	 */
+	private int drawSprite(final SpriteType spriteType, final Color color,
+			final int positionX, final int positionY) {
+		int stateChange = 0;
+		if (spriteType != lastSpriteType || !color.equals(lastSpriteColor)) {
+			lastSpriteType = spriteType;
+			lastSpriteColor = color;
+			stateChange = 1;
+		}
+
+		// Sprites are drawn at their authored size, one pixel of the
+		// logical framebuffer per sprite pixel.
+		int x = Math.floorDiv(positionX, PIXEL_SIZE);
+		int y = Math.floorDiv(positionY, PIXEL_SIZE);
+		if (rasterBlitting && savedGraphics == null) {
+			// Fetching the pixels stops the buffer from being accelerated.
+			if (backBufferPixels == null) {
+				backBufferPixels = ((DataBufferInt) backBuffer.getRaster()
+						.getDataBuffer()).getData();
+			}
+			spriteBlitter.blit(backBufferPixels, backBuffer.getWidth(),
+					backBuffer.getHeight(), spriteType, color.getRGB(), x, y);
+			dirtyRegions.add(x, y, spriteBlitter.getWidth(spriteType),
+					spriteBlitter.getHeight(spriteType));
+		} else {
+			Rectangle region = spriteAtlas.getRegion(spriteType, color);
+			pixelGraphics.drawImage(spriteAtlas.getImage(), x, y,
+					x + region.width, y + region.height, region.x, region.y,
+					region.x + region.width, region.y + region.height, null);
+			dirtyRegions.add(x, y, region.width, region.height);
+		}
+		return stateChange;
+	}
 
-		for (int i = 0; i < image.length; i++) {
-			for (int j = 0; j < image[i].length; j++) {
-				if (image[i][j]) {
-					backBufferGraphics.drawRect(positionX + i * 2, positionY + j * 2, 1, 1);
+	/**
+	 * Draws every live particle of a pool as a single framebuffer pixel, in
+	 * one pass.
+	 *
+	 * @param particles
+	 *            Particles to draw.
+	 */
+	public void drawParticles(final ParticlePool particles) {
+		int count = particles.getSize();
+		if (count == 0) {
+			return;
+		}
+		int width = backBuffer.getWidth();
+		int height = backBuffer.getHeight();
+		boolean raster = rasterBlitting && savedGraphics == null;
+		if (raster && backBufferPixels == null) {
+			backBufferPixels = ((DataBufferInt) backBuffer.getRaster()
+					.getDataBuffer()).getData();
+		}
+		int left = width;
+		int top = height;
+		int right = -1;
+		int bottom = -1;
+		Color lastColor = null;
+		for (int i = 0; i < count; i++) {
+			int x = Math.floorDiv(particles.getPositionX(i), PIXEL_SIZE);
+			int y = Math.floorDiv(particles.getPositionY(i), PIXEL_SIZE);
+			if (x < 0 || y < 0 || x >= width || y >= height) {
+				continue;
+			}
+			Color color = particles.getColor(i);
+			if (raster) {
+				backBufferPixels[y * width + x] = color.getRGB();
+			} else {
+				if (color != lastColor) {
+					pixelGraphics.setColor(color);
+					lastColor = color;
 				}
+				pixelGraphics.fillRect(x, y, 1, 1);
 			}
+			left = Math.min(left, x);
+			top = Math.min(top, y);
+			right = Math.max(right, x);
+			bottom = Math.max(bottom, y);
+		}
+		if (right >= 0) {
+			dirtyRegions.add(left, top, right - left + 1, bottom - top + 1);
+		}
+	}
+
+	/**
+	 * Marks the area covered by a string as drawn.
+	 *
+	 * @param metrics
+	 *            Metrics of the font used.
+	 * @param stringWidth
+	 *            Width of the string.
+	 * @param positionX
+	 *            Left side of the string.
+	 * @param positionY
+	 *            Baseline of the string.
+	 */
+	private void markString(final FontMetrics metrics, final int stringWidth,
+			final int positionX, final int positionY) {
+		markDirty(positionX, positionY - metrics.getAscent(),
+				stringWidth, metrics.getHeight());
+	}
+
+	/**
+	 * Summarizes the regions presented on each frame.
+	 *
+	 * @return Dirty region statistics.
+	 */
+	public String getDirtyRegionStatistics() {
+		return dirtyRegions.getStatistics();
+	}
+
+	/**
+	 * Summarizes the usage of the tinted sprite cache.
+	 *
+	 * @return Sprite cache statistics.
+	 */
+	public String getSpriteCacheStatistics() {
+		return spriteAtlas.getStatistics();
+	}
+
+	/**
+	 * Summarizes the sprite batches drawn, with the sprite or color
+	 * changes they took against drawing the sprites in queued order.
+	 *
+	 * @return Batching statistics.
+	 */
+	public String getBatchStatistics() {
+		if (batchCount == 0) {
+			return "Render batches: none drawn.";
 		}
+		return String.format("Render batches: %d, %.1f sprites, "
+				+ "%.1f state changes (%.1f unsorted) per batch.",
+				batchCount, (double) batchedSprites / batchCount,
+				(double) batchStateChanges / batchCount,
+				(double) queuedStateChanges / batchCount);
+	}
+
+	/**
+	 * Getter for the loaded sprites, also used for pixel accurate
+	 * collisions.
+	 *
+	 * @return Sprite images as bit masks.
+	 */
+	public SpriteMasks getSpriteMasks() {
+		return spriteMasks;
 	}
 
 	/**
@@ -259,18 +768,15 @@ public final class DrawManager {
 	 *            Current score.
 	 */
 	public void drawScore(final Screen screen, final int score) {
-		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.setColor(Color.WHITE);
-		String scoreString = String.format("%04d", score);
-		backBufferGraphics.drawString(scoreString, screen.getWidth() - 60, 25);
+		scoreText.draw(pixelGraphics, score, Color.WHITE,
+				screen.getWidth() - 60, 25);
+		markHudText(scoreText, screen.getWidth() - 60, 25);
 	}
 
 	public void drawScore(final Screen screen, final int score1, final int score2) {
-		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.setColor(Color.WHITE);
-		String scoreString = String.format("%04d", score1);
-		String scoreString2 = String.format("%04d", score2);
-		backBufferGraphics.drawString(scoreString+"/"+scoreString2, screen.getWidth() - 130, 25);
+		scoreText.draw(pixelGraphics, score1, score2, Color.WHITE,
+				screen.getWidth() - 130, 25);
+		markHudText(scoreText, screen.getWidth() - 130, 25);
 	}
 
 	/**
@@ -282,48 +788,79 @@ public final class DrawManager {
 	 *            Current lives.
 	 */
 	public void drawLives(final Screen screen, final int lives, Color color, final int gamemode) {
-		backBufferGraphics.setFont(fontRegular);
+		livesText.draw(pixelGraphics, lives, Color.WHITE, 20, 25);
+		markHudText(livesText, 20, 25);
 
-		backBufferGraphics.setColor(Color.WHITE);
-		backBufferGraphics.drawString(Integer.toString(lives), 20, 25);
-
-		Ship dummyShip = new Ship(0, 0, new Color((int)(color.getRed()*0.7),(int)(color.getGreen()*0.7),(int)(color.getBlue()*0.7)));
+		Color lifeColor = getDimmedColor(color);
 		int insert = 40;
 		if(gamemode == 1){
 			insert += 15;
 		}
 		int i = 0;
 		for (; i < lives; i++) {
-			drawEntity(dummyShip, insert + 35 * i, 10);
+			drawSprite(SpriteType.Ship, lifeColor, insert + 35 * i, 10);
 		}
 	}
 	public void drawLives(final Screen screen, final int lives, final int lives2, Color color1, Color color2, final int gamemode) {
-		backBufferGraphics.setFont(fontRegular);
 		if(gamemode == 0){
-			backBufferGraphics.setColor(Color.WHITE);
-			backBufferGraphics.drawString(Integer.toString(lives), 20, 25);
+			livesText.draw(pixelGraphics, lives, Color.WHITE, 20, 25);
 		}
 		else{
-			backBufferGraphics.setColor(Color.WHITE);
-			backBufferGraphics.drawString(Integer.toString(lives)+"/"+Integer.toString(lives2), 20, 25);
+			livesText.draw(pixelGraphics, lives, lives2, Color.WHITE, 20, 25);
 		}
+		markHudText(livesText, 20, 25);
 
-		Ship dummyShip = new Ship(0, 0, new Color((int)(color1.getRed()*0.7),(int)(color1.getGreen()*0.7),(int)(color1.getBlue()*0.7)));
-		Ship dummyShip2 = new Ship(0, 0,new Color((int)(color2.getRed()*0.7),(int)(color2.getGreen()*0.7),(int)(color2.getBlue()*0.7)));
+		Color lifeColor = getDimmedColor(color1);
+		Color lifeColor2 = getDimmedColor(color2);
 		int insert = 40;
 		if(gamemode == 1){
 			insert += 15;
 		}
 		int i = 0;
 		for (; i < lives; i++) {
-			drawEntity(dummyShip, insert + 35 * i, 10);
+			drawSprite(SpriteType.Ship, lifeColor, insert + 35 * i, 10);
 		}
 		for(int j=i;j<i+lives2;j++){
-			drawEntity(dummyShip2, insert + 35 * j, 10);
+			drawSprite(SpriteType.Ship, lifeColor2, insert + 35 * j, 10);
 		}
 
 	}
 
+	/**
+	 * Marks the area covered by a HUD text as drawn.
+	 *
+	 * @param text
+	 *            HUD text drawn.
+	 * @param positionX
+	 *            Left side of the text.
+	 * @param positionY
+	 *            Baseline of the text.
+	 */
+	private void markHudText(final HudText text, final int positionX,
+			final int positionY) {
+		markDirty(positionX, positionY - text.getAscent(),
+				text.getWidth(), text.getHeight());
+	}
+
+	/**
+	 * Returns the darker version of a color used for the life icons,
+	 * computing it only the first time.
+	 *
+	 * @param color
+	 *            Color of the player ship.
+	 * @return Color of the life icons.
+	 */
+	private Color getDimmedColor(final Color color) {
+		Color dimmed = dimmedColors.get(color);
+		if (dimmed == null) {
+			dimmed = new Color((int) (color.getRed() * 0.7),
+					(int) (color.getGreen() * 0.7),
+					(int) (color.getBlue() * 0.7));
+			dimmedColors.put(color, dimmed);
+		}
+		return dimmed;
+	}
+
 	/**
 	 * Draws a thick line from side to side of the screen.
 	 *
@@ -337,6 +874,7 @@ public final class DrawManager {
 		backBufferGraphics.drawLine(0, positionY, screen.getWidth(), positionY);
 		backBufferGraphics.drawLine(0, positionY + 1, screen.getWidth(),
 				positionY + 1);
+		markDirty(0, positionY, screen.getWidth() + 1, 2);
 	}
 
 	/**
@@ -686,8 +1224,6 @@ public final class DrawManager {
 	 */
 
 	public void drawHighScoreMenu(final Screen screen,int select, int playermode, int difficulty) {
-		String[] difficult = {"easy","normal","hard","extra hard"};
-		String[] players = {"single player","two players"};
 		String highScoreString = "High Scores";
 		String instructionsString = "Space|ESC: Back / ARROWKEY: move";
 		String instructionsString2 = "R: Delete Record"; // 리셋 설명 방법 추가
@@ -698,10 +1234,10 @@ public final class DrawManager {
 		drawCenteredRegularString(screen, instructionsString2, screen.getHeight() / 6 + fontRegularMetrics.getHeight()*2);
 		if(select == 0) backBufferGraphics.setColor(Color.GREEN);
 		else backBufferGraphics.setColor(Color.WHITE);
-		drawCenteredRegularString(screen, players[playermode], screen.getHeight() / 5 + fontRegularMetrics.getHeight()*3);
+		drawCenteredRegularString(screen, PLAYER_MODE_NAMES[playermode], screen.getHeight() / 5 + fontRegularMetrics.getHeight()*3);
 		if(select == 1) backBufferGraphics.setColor(Color.GREEN);
 		else backBufferGraphics.setColor(Color.WHITE);
-		drawCenteredRegularString(screen, difficult[difficulty], screen.getHeight() / 5 + fontRegularMetrics.getHeight()*4);
+		drawCenteredRegularString(screen, DIFFICULTY_NAMES[difficulty], screen.getHeight() / 5 + fontRegularMetrics.getHeight()*4);
 	}
 
 	/**
@@ -741,9 +1277,12 @@ public final class DrawManager {
 	 */
 	public void drawCenteredRegularString(final Screen screen,
 										  final String string, final int height) {
+		int stringWidth = fontRegularMetrics.stringWidth(string);
 		backBufferGraphics.setFont(fontRegular);
 		backBufferGraphics.drawString(string, screen.getWidth() / 2
-				- fontRegularMetrics.stringWidth(string) / 2, height);
+				- stringWidth / 2, height);
+		markString(fontRegularMetrics, stringWidth,
+				screen.getWidth() / 2 - stringWidth / 2, height);
 	}
 
 	/**
@@ -758,9 +1297,12 @@ public final class DrawManager {
 	 */
 	public void drawCenteredBigString(final Screen screen, final String string,
 									  final int height) {
+		int stringWidth = fontBigMetrics.stringWidth(string);
 		backBufferGraphics.setFont(fontBig);
 		backBufferGraphics.drawString(string, screen.getWidth() / 2
-				- fontBigMetrics.stringWidth(string) / 2, height);
+				- stringWidth / 2, height);
+		markString(fontBigMetrics, stringWidth,
+				screen.getWidth() / 2 - stringWidth / 2, height);
 	}
 
 	/**
@@ -782,6 +1324,8 @@ public final class DrawManager {
 		backBufferGraphics.setColor(Color.BLACK);
 		backBufferGraphics.fillRect(0, screen.getHeight() / 2 - rectHeight / 2,
 				rectWidth, rectHeight);
+		markDirty(0, screen.getHeight() / 2 - rectHeight / 2,
+				rectWidth, rectHeight);
 		backBufferGraphics.setColor(Color.GREEN);
 		if (number >= 4) {
 			if (!bonusLife) {
@@ -810,6 +1354,7 @@ public final class DrawManager {
 		int rectHeight = screen.getHeight()/6;
 		backBufferGraphics.setColor(Color.BLACK);
 		backBufferGraphics.fillRect(0, screen.getHeight() / 2 - rectHeight / 2, rectWidth, rectHeight);
+		markDirty(0, screen.getHeight() / 2 - rectHeight / 2, rectWidth, rectHeight);
 		backBufferGraphics.setColor(Color.WHITE);
 		drawCenteredBigString(screen,"PAUSE",screen.getHeight()/2+fontBigMetrics.getHeight()/5);
 		drawCenteredRegularString(screen,"Esc: continue / Q: exit",screen.getHeight()/2+fontBigMetrics.getHeight()/4*4);
@@ -827,13 +1372,6 @@ public final class DrawManager {
 				screen.getHeight() / 5);
 	}
 	public void drawSettingMenu(final Screen screen, int select,int difficult, int playermode, int coloridx){
-		String[] difficulty = {"easy","normal","hard","extra hard"};
-		String[] players = {"single player","two players"};
-		Color[] colorSet = {Color.GREEN,Color.YELLOW,
-				new Color(92,209,229),new Color(197,254,221),
-				new Color(253, 254, 228),new Color(253, 219, 249),
-				new Color(208, 219, 249),new Color(255, 251, 209),
-				new Color(230, 230, 230),new Color(255,255,255)};
 		if(select == 0){
 			backBufferGraphics.setColor(Color.GREEN);
 		}
@@ -841,7 +1379,7 @@ public final class DrawManager {
 			backBufferGraphics.setColor(Color.WHITE);
 		}
 		drawCenteredBigString(screen, "Difficulty", screen.getHeight() / 7 * 2 + screen.getHeight()/9 - fontRegularMetrics.getHeight()*1);
-		drawCenteredRegularString(screen, difficulty[difficult], screen.getHeight() / 7 * 2 + screen.getHeight()/9 + fontRegularMetrics.getHeight()*1);
+		drawCenteredRegularString(screen, DIFFICULTY_NAMES[difficult], screen.getHeight() / 7 * 2 + screen.getHeight()/9 + fontRegularMetrics.getHeight()*1);
 		if(select == 1){
 			backBufferGraphics.setColor(Color.GREEN);
 		}
@@ -849,7 +1387,7 @@ public final class DrawManager {
 			backBufferGraphics.setColor(Color.WHITE);
 		}
 		drawCenteredBigString(screen, "PlayerMode", screen.getHeight() / 7 * 2 + screen.getHeight()/9 + fontRegularMetrics.getHeight() * 4);
-		drawCenteredRegularString(screen, players[playermode], screen.getHeight() / 7 * 2 + screen.getHeight()/9+ fontRegularMetrics.getHeight() * 6);
+		drawCenteredRegularString(screen, PLAYER_MODE_NAMES[playermode], screen.getHeight() / 7 * 2 + screen.getHeight()/9+ fontRegularMetrics.getHeight() * 6);
 		if(select == 2){
 			backBufferGraphics.setColor(Color.GREEN);
 		}
@@ -857,10 +1395,7 @@ public final class DrawManager {
 			backBufferGraphics.setColor(Color.WHITE);
 		}
 		drawCenteredBigString(screen, "shipsColor", screen.getHeight() / 7 * 2 + screen.getHeight()/9+ fontRegularMetrics.getHeight() * 9);
-		Ship dummyShip1 = new Ship(0, 0, new Color((int)(colorSet[coloridx*2].getRed()*0.7),(int)(colorSet[coloridx*2].getGreen()*0.7),(int)(colorSet[coloridx*2].getBlue()*0.7)));
-		Ship dummyShip2 = new Ship(0, 0, new Color((int)(colorSet[coloridx*2+1].getRed()*0.7),(int)(colorSet[coloridx*2+1].getGreen()*0.7),(int)(colorSet[coloridx*2+1].getBlue()*0.7)));
-
-		drawEntity(dummyShip1, (int)(screen.getWidth()*0.45)-13, screen.getHeight() / 7 * 2 + screen.getHeight()/9+ fontRegularMetrics.getHeight() * 11);
-		drawEntity(dummyShip2, (int)(screen.getWidth()*0.55)-13, screen.getHeight() / 7 * 2 + screen.getHeight()/9+ fontRegularMetrics.getHeight() * 11);
+		drawSprite(SpriteType.Ship, getDimmedColor(COLOR_SET[coloridx*2]), (int)(screen.getWidth()*0.45)-13, screen.getHeight() / 7 * 2 + screen.getHeight()/9+ fontRegularMetrics.getHeight() * 11);
+		drawSprite(SpriteType.Ship, getDimmedColor(COLOR_SET[coloridx*2+1]), (int)(screen.getWidth()*0.55)-13, screen.getHeight() / 7 * 2 + screen.getHeight()/9+ fontRegularMetrics.getHeight() * 11);
 	}
 }
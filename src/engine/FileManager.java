@@ -5,11 +5,11 @@ import engine.DrawManager.SpriteType;
 import java.awt.*;
 import java.io.*;
 import java.net.URLDecoder;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.logging.Logger;
 
 /**
@@ -26,6 +26,8 @@ public final class FileManager {
 	private static Logger logger;
 	/** Max number of high scores. */
 	private static final int MAX_SCORES = 7;
+	/** Font parsed from disk, derived for each size. */
+	private static Font baseFont;
 
 	/**
 	 * private constructor.
@@ -47,53 +49,45 @@ public final class FileManager {
 	}
 
 	/**
-	 * Loads sprites from disk.
+	 * Loads the sprite pack, reading it whole in a single call.
 	 * 
-	 * @param spriteMap
-	 *            Mapping of sprite type and empty boolean matrix that will
-	 *            contain the image.
+	 * @return Loaded sprites.
 	 * @throws IOException
-	 *             In case of loading problems.
+	 *             In case of loading problems, or if a sprite is missing or
+	 *             empty.
 	 */
-	public void loadSprite(final Map<SpriteType, boolean[][]> spriteMap)
-			throws IOException {
+	public SpriteMasks loadSprite() throws IOException {
 		InputStream inputStream = null;
+		byte[] pack;
 
 		try {
 			inputStream = DrawManager.class.getClassLoader()
-					.getResourceAsStream("graphics");
-			char c;
-
-			// Sprite loading.
-			for (Map.Entry<SpriteType, boolean[][]> sprite : spriteMap.entrySet()) {
-				for (int i = 0; i < sprite.getValue().length; i++) {
-					for (int j = 0; j < sprite.getValue()[i].length; j++) {
-						do {
-							c = (char) inputStream.read();
-						}while (c != '0' && c != '1');
-
-						if (c == '1') {
-							sprite.getValue()[i][j] = true;
-						}
-						else {
-							sprite.getValue()[i][j] = false;
-						}
-					}
-					logger.fine("Sprite " + sprite.getKey() + " loaded.");
-				}
-			}
-			if (inputStream != null) {
-				inputStream.close();
+					.getResourceAsStream("sprites.pack");
+			if (inputStream == null) {
+				throw new FileNotFoundException("Sprite pack not found.");
 			}
+			pack = inputStream.readAllBytes();
 		} finally {
 			if (inputStream != null) {
 				inputStream.close();
 			}
 		}
+
+		SpriteMasks spriteMasks = SpritePack.read(ByteBuffer.wrap(pack));
+		for (SpriteType spriteType : SpriteType.values()) {
+			if (spriteMasks.getHeight(spriteType) == 0) {
+				throw new IOException("Sprite " + spriteType
+						+ " is empty in the sprite pack.");
+			}
+		}
+		logger.fine("Loaded " + spriteMasks.getSpriteTypes().length
+				+ " sprites from " + pack.length + " bytes.");
+		return spriteMasks;
 	}
 
 	/**
-	 * Loads a font of a given size.
+	 * Loads a font of a given size. The font file is only read and parsed
+	 * the first time, later sizes are derived from it.
 	 * 
 	 * @param size
 	 *            Point size of the font.
@@ -103,24 +97,24 @@ public final class FileManager {
 	 * @throws FontFormatException
 	 *             In case of incorrect font format.
 	 */
-	public Font loadFont(final float size) throws IOException,
+	public synchronized Font loadFont(final float size) throws IOException,
 			FontFormatException {
-		InputStream inputStream = null;
-		Font font;
-
-		try {
-			// Font loading.
-			inputStream = FileManager.class.getClassLoader()
-					.getResourceAsStream("font.ttf");
-			font = Font.createFont(Font.TRUETYPE_FONT, inputStream).deriveFont(
-					size);
-		} finally {
-			if (inputStream != null) {
-				inputStream.close();
+		if (baseFont == null) {
+			InputStream inputStream = null;
+
+			try {
+				// Font loading, parsed only once.
+				inputStream = FileManager.class.getClassLoader()
+						.getResourceAsStream("font.ttf");
+				baseFont = Font.createFont(Font.TRUETYPE_FONT, inputStream);
+			} finally {
+				if (inputStream != null) {
+					inputStream.close();
+				}
 			}
 		}
 
-		return font;
+		return baseFont.deriveFont(size);
 	}
 
 	/**
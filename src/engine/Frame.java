@@ -4,6 +4,7 @@ import screen.Screen;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
 
 /**
  * Implements a frame to show screens on.
@@ -12,7 +13,12 @@ import java.awt.*;
  * 
  */
 @SuppressWarnings("serial")
-public class Frame extends JFrame {
+public class Frame extends JFrame implements RenderTarget {
+
+	/** Smallest window scale. */
+	private static final int MIN_SCALE = 2;
+	/** Biggest window scale. */
+	private static final int MAX_SCALE = 4;
 
 	/** Frame width. */
 	private int width;
@@ -20,6 +26,8 @@ public class Frame extends JFrame {
 	private int height;
 	/** Screen currently shown. */
 	private Screen currentScreen;
+	/** Presents the finished frames on screen. */
+	private Presenter presenter;
 
 	/**
 	 * Initializes the new frame.
@@ -28,18 +36,65 @@ public class Frame extends JFrame {
 	 *            Frame width.
 	 * @param height
 	 *            Frame height.
+	 * @param scale
+	 *            Window pixels per pixel of the logical framebuffer, which
+	 *            is half the size of the screen.
+	 * @param pageFlipping
+	 *            If frames are presented through a buffer strategy instead
+	 *            of drawing them straight on the frame.
+	 * @param buffers
+	 *            Number of buffers used for page flipping.
 	 */
-	public Frame(final int width, final int height) {
+	public Frame(final int width, final int height, final int scale,
+			final boolean pageFlipping, final int buffers) {
 		setSize(width, height);
 		setResizable(false);
 		setDefaultCloseOperation(EXIT_ON_CLOSE);
 
+		Canvas canvas = null;
+		if (pageFlipping) {
+			canvas = new Canvas();
+			canvas.setIgnoreRepaint(true);
+			canvas.setFocusable(false);
+			canvas.setBackground(Color.BLACK);
+			getContentPane().add(canvas);
+		}
+
 		setLocationRelativeTo(null);
 		setVisible(true);
 
+		// The screen keeps its size whatever the scale, only the window
+		// around the logical framebuffer changes.
 		Insets insets = getInsets();
 		this.width = width - insets.left - insets.right;
 		this.height = height - insets.top + insets.bottom;
+		int windowScale = scale >= MIN_SCALE && scale <= MAX_SCALE ? scale
+				: MIN_SCALE;
+		if (windowScale != scale) {
+			Core.getLogger().warning("Unsupported window scale " + scale
+					+ ", using " + windowScale + ".");
+		}
+		setSize(DrawManager.toPixels(this.width) * windowScale
+				+ insets.left + insets.right,
+				DrawManager.toPixels(this.height) * windowScale
+				+ insets.top + insets.bottom);
+		setLocationRelativeTo(null);
+		validate();
+
+		if (canvas != null) {
+			try {
+				this.presenter = new BufferStrategyPresenter(canvas, buffers,
+						windowScale);
+			} catch (IllegalStateException | IllegalArgumentException e) {
+				Core.getLogger().warning("Page flipping unavailable, "
+						+ "falling back to direct drawing.");
+				getContentPane().remove(canvas);
+			}
+		}
+		if (this.presenter == null) {
+			this.presenter = new DirectPresenter(this, windowScale);
+		}
+
 		setTitle("Invaders");
 
 		addKeyListener(Core.getInputManager());
@@ -58,6 +113,22 @@ public class Frame extends JFrame {
 		return currentScreen.run();
 	}
 
+	@Override
+	public final void present(final BufferedImage image,
+			final DirtyRegions regions) {
+		this.presenter.present(image, regions);
+	}
+
+	/**
+	 * Summarizes the presentation timings.
+	 *
+	 * @return Present latency and frame time statistics.
+	 */
+	@Override
+	public final String getStatistics() {
+		return this.presenter.getStatistics();
+	}
+
 	/**
 	 * Getter for frame width.
 	 * 
@@ -0,0 +1,183 @@
+package engine;
+
+/**
+ * Keeps the game on schedule when frames run over their time budget. It
+ * follows the share of each loop pass spent working rather than waiting,
+ * and when that stays too high it raises the degradation level: first
+ * dropping the effects, then drawing only one frame out of two, then one
+ * out of three. The simulation ticks keep running on time meanwhile. The
+ * level goes back down, more slowly, once there is headroom again.
+ */
+public final class FrameBudget {
+
+	/** Highest degradation level. */
+	public static final int MAX_LEVEL = 3;
+	/** Level from which the effects are not drawn. */
+	private static final int DROP_EFFECTS_LEVEL = 1;
+	/** Level from which frames are skipped. */
+	private static final int SKIP_FRAMES_LEVEL = 2;
+	/** Load above which the level goes up. */
+	private static final double OVERLOAD = 0.9;
+	/** Load below which the level goes down. */
+	private static final double HEADROOM = 0.6;
+	/** Weight of each new sample in the load average. */
+	private static final double SMOOTHING = 0.1;
+	/** Passes the load must stay high before the level goes up. */
+	private static final int DEGRADE_PASSES = 30;
+	/** Passes the load must stay low before the level goes down. */
+	private static final int RECOVER_PASSES = 120;
+
+	/** If the level adapts to the load. */
+	private final boolean enabled;
+	/** Average share of the time spent working, 0 to 1. */
+	private double load;
+	/** Current degradation level. */
+	private int level;
+	/** Passes in a row the load stayed past a threshold. */
+	private int passes;
+	/** Frames considered since the level last changed. */
+	private long frameIndex;
+	/** Frames drawn. */
+	private long drawnFrames;
+	/** Frames skipped. */
+	private long skippedFrames;
+	/** Times the level went up. */
+	private long degradations;
+	/** Times the level went down. */
+	private long recoveries;
+	/** Highest level reached. */
+	private int highestLevel;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param enabled
+	 *            If the level adapts to the load, otherwise every frame is
+	 *            drawn in full.
+	 */
+	FrameBudget(final boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Getter for the adaptive mode.
+	 *
+	 * @return True if the level adapts to the load.
+	 */
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	/**
+	 * Records a pass of the game loop.
+	 *
+	 * @param busyNanos
+	 *            Time spent updating and drawing.
+	 * @param periodNanos
+	 *            Time since the previous pass started.
+	 */
+	public void record(final long busyNanos, final long periodNanos) {
+		if (!this.enabled || periodNanos <= 0) {
+			return;
+		}
+		double sample = Math.min(1.0, (double) busyNanos / periodNanos);
+		this.load += (sample - this.load) * SMOOTHING;
+
+		if (this.load > OVERLOAD && this.level < MAX_LEVEL) {
+			if (++this.passes >= DEGRADE_PASSES) {
+				setLevel(this.level + 1);
+				this.degradations++;
+			}
+		} else if (this.level > 0 && projectedLoad() < HEADROOM) {
+			if (++this.passes >= RECOVER_PASSES) {
+				setLevel(this.level - 1);
+				this.recoveries++;
+			}
+		} else {
+			this.passes = 0;
+		}
+	}
+
+	/**
+	 * Estimates the load one level down, where more frames are drawn.
+	 *
+	 * @return Expected load after recovering.
+	 */
+	private double projectedLoad() {
+		if (this.level < SKIP_FRAMES_LEVEL) {
+			return this.load;
+		}
+		return this.load * this.level / (this.level - 1);
+	}
+
+	/**
+	 * Changes the degradation level.
+	 *
+	 * @param newLevel
+	 *            New level.
+	 */
+	private void setLevel(final int newLevel) {
+		this.level = newLevel;
+		this.highestLevel = Math.max(this.highestLevel, newLevel);
+		this.passes = 0;
+		this.frameIndex = 0;
+		Core.getLogger().info("Frame budget: degradation level " + newLevel
+				+ ", load " + Math.round(this.load * 100) + "%.");
+	}
+
+	/**
+	 * Decides if the next frame is drawn, skipping some at the higher
+	 * levels.
+	 *
+	 * @return True if the frame is drawn.
+	 */
+	public boolean shouldDraw() {
+		boolean draw = this.level < SKIP_FRAMES_LEVEL
+				|| this.frameIndex % this.level == 0;
+		this.frameIndex++;
+		if (draw) {
+			this.drawnFrames++;
+		} else {
+			this.skippedFrames++;
+		}
+		return draw;
+	}
+
+	/**
+	 * Counts a frame skipped to catch up with late updates.
+	 */
+	public void skipFrame() {
+		this.skippedFrames++;
+	}
+
+	/**
+	 * Checks if the effects are left out of the frames.
+	 *
+	 * @return True if the effects are not drawn.
+	 */
+	public boolean dropsEffects() {
+		return this.level >= DROP_EFFECTS_LEVEL;
+	}
+
+	/**
+	 * Getter for the degradation level.
+	 *
+	 * @return Level, 0 when drawing in full, up to MAX_LEVEL.
+	 */
+	public int getLevel() {
+		return this.level;
+	}
+
+	/**
+	 * Summarizes the frames drawn and skipped and the level changes.
+	 *
+	 * @return Frame budget statistics.
+	 */
+	public String getStatistics() {
+		return String.format("Frame budget%s: %d frames drawn, %d skipped, "
+				+ "level %d (highest %d), %d degradations, %d recoveries.",
+				this.enabled ? "" : " (off)", this.drawnFrames,
+				this.skippedFrames, this.level, this.highestLevel,
+				this.degradations, this.recoveries);
+	}
+}
@@ -0,0 +1,80 @@
+package engine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waits for frame deadlines more precisely than sleeping alone: it sleeps
+ * until shortly before the deadline, then spins for the rest, trading some
+ * CPU time for less jitter. The intervals between frames are kept in a
+ * histogram.
+ */
+public final class FramePacer {
+
+	/** Time spun before each deadline, in nanoseconds. */
+	private final long spinNanos;
+	/** Intervals between frames. */
+	private final IntervalHistogram intervals;
+	/** Time of the last frame, 0 if there is none. */
+	private long lastFrame;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param spinMicros
+	 *            Time spun before each deadline, in microseconds. Longer
+	 *            spins use more CPU but absorb more of the sleep overshoot;
+	 *            0 only sleeps.
+	 */
+	FramePacer(final int spinMicros) {
+		this.spinNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0,
+				spinMicros));
+		this.intervals = new IntervalHistogram();
+	}
+
+	/**
+	 * Waits until a deadline.
+	 *
+	 * @param deadline
+	 *            Time to wait for, on the System.nanoTime clock.
+	 * @throws InterruptedException
+	 *             If the thread is interrupted while sleeping.
+	 */
+	public void waitUntil(final long deadline) throws InterruptedException {
+		long remaining = deadline - System.nanoTime();
+		if (remaining > this.spinNanos) {
+			TimeUnit.NANOSECONDS.sleep(remaining - this.spinNanos);
+		}
+		while (deadline - System.nanoTime() > 0) {
+			Thread.onSpinWait();
+		}
+	}
+
+	/**
+	 * Records that a frame was drawn, counting the interval since the last
+	 * one.
+	 */
+	public void frameDrawn() {
+		long now = System.nanoTime();
+		if (this.lastFrame != 0) {
+			this.intervals.record(now - this.lastFrame);
+		}
+		this.lastFrame = now;
+	}
+
+	/**
+	 * Forgets the last frame, so the pause between two screens is not
+	 * counted as a frame interval.
+	 */
+	public void restart() {
+		this.lastFrame = 0;
+	}
+
+	/**
+	 * Summarizes the intervals between frames.
+	 *
+	 * @return Frame interval histogram.
+	 */
+	public String getStatistics() {
+		return "Frame intervals: " + this.intervals.dump();
+	}
+}
@@ -0,0 +1,23 @@
+package engine;
+
+/**
+ * Source of the time used for gameplay timing, such as the cooldowns.
+ */
+public interface GameClock {
+
+	/**
+	 * Getter for the current time.
+	 *
+	 * @return Current time, in milliseconds from an arbitrary origin.
+	 */
+	long getMillis();
+
+	/**
+	 * Notifies the clock that the game advanced one update. Clocks driven
+	 * by the updates move forward; real-time clocks ignore it.
+	 *
+	 * @param nanos
+	 *            Length of the update, in nanoseconds.
+	 */
+	void advance(long nanos);
+}
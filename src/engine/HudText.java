@@ -0,0 +1,185 @@
+package engine;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Numeric HUD text, such as the score or the lives, kept rendered in an
+ * image at the logical framebuffer resolution. The text is only formatted
+ * and rendered again when one of its values changes, so drawing it every
+ * frame allocates nothing. Positions and sizes are in screen units.
+ */
+final class HudText {
+
+	/** Value meaning nothing has been rendered yet. */
+	private static final int NONE = Integer.MIN_VALUE;
+
+	/** Font used. */
+	private final Font font;
+	/** Metrics of the font used. */
+	private final FontMetrics metrics;
+	/** Minimum digits of each value, padded with zeros. */
+	private final int digits;
+	/** Screen units per pixel of the image. */
+	private final int pixelSize;
+	/** Image holding the rendered text. */
+	private BufferedImage image;
+	/** Width of the rendered text. */
+	private int width;
+	/** First value rendered. */
+	private int first;
+	/** Second value rendered, NONE if there is only one. */
+	private int second;
+	/** Color of the rendered text. */
+	private Color color;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param font
+	 *            Font used.
+	 * @param metrics
+	 *            Metrics of the font used.
+	 * @param digits
+	 *            Minimum digits of each value, 0 to not pad them.
+	 * @param pixelSize
+	 *            Screen units per pixel of the framebuffer.
+	 */
+	HudText(final Font font, final FontMetrics metrics, final int digits,
+			final int pixelSize) {
+		this.font = font;
+		this.metrics = metrics;
+		this.digits = digits;
+		this.pixelSize = pixelSize;
+		this.first = NONE;
+		this.second = NONE;
+	}
+
+	/**
+	 * Updates the values shown, rendering the text again if they changed.
+	 *
+	 * @param newFirst
+	 *            First value.
+	 * @param newSecond
+	 *            Second value, shown after a slash, or NONE.
+	 * @param color
+	 *            Color of the text.
+	 */
+	private void update(final int newFirst, final int newSecond,
+			final Color color) {
+		if (this.image != null && newFirst == this.first
+				&& newSecond == this.second && color.equals(this.color)) {
+			return;
+		}
+		this.first = newFirst;
+		this.second = newSecond;
+		this.color = color;
+
+		String text = format(newFirst);
+		if (newSecond != NONE) {
+			text += "/" + format(newSecond);
+		}
+		this.width = Math.max(1, this.metrics.stringWidth(text));
+
+		int imageWidth = (this.width + this.pixelSize - 1) / this.pixelSize;
+		if (this.image == null || this.image.getWidth() < imageWidth) {
+			this.image = new BufferedImage(imageWidth,
+					(this.metrics.getHeight() + this.pixelSize - 1)
+							/ this.pixelSize, BufferedImage.TYPE_INT_ARGB);
+		}
+		Graphics2D graphics = this.image.createGraphics();
+		graphics.setComposite(AlphaComposite.Clear);
+		graphics.fillRect(0, 0, this.image.getWidth(), this.image.getHeight());
+		graphics.setComposite(AlphaComposite.SrcOver);
+		graphics.scale(1.0 / this.pixelSize, 1.0 / this.pixelSize);
+		graphics.setFont(this.font);
+		graphics.setColor(color);
+		graphics.drawString(text, 0, this.metrics.getAscent());
+		graphics.dispose();
+	}
+
+	/**
+	 * Formats a value, padding it with zeros if needed.
+	 *
+	 * @param value
+	 *            Value to format.
+	 * @return Formatted value.
+	 */
+	private String format(final int value) {
+		if (this.digits == 0) {
+			return Integer.toString(value);
+		}
+		return String.format("%0" + this.digits + "d", value);
+	}
+
+	/**
+	 * Draws a single value.
+	 *
+	 * @param graphics
+	 *            Graphics to draw on, in framebuffer pixels.
+	 * @param value
+	 *            Value shown.
+	 * @param color
+	 *            Color of the text.
+	 * @param positionX
+	 *            Left side of the text.
+	 * @param baseline
+	 *            Baseline of the text.
+	 */
+	void draw(final Graphics graphics, final int value, final Color color,
+			final int positionX, final int baseline) {
+		draw(graphics, value, NONE, color, positionX, baseline);
+	}
+
+	/**
+	 * Draws two values separated by a slash.
+	 *
+	 * @param graphics
+	 *            Graphics to draw on, in framebuffer pixels.
+	 * @param value
+	 *            First value shown.
+	 * @param value2
+	 *            Second value shown.
+	 * @param color
+	 *            Color of the text.
+	 * @param positionX
+	 *            Left side of the text.
+	 * @param baseline
+	 *            Baseline of the text.
+	 */
+	void draw(final Graphics graphics, final int value, final int value2,
+			final Color color, final int positionX, final int baseline) {
+		update(value, value2, color);
+		graphics.drawImage(this.image,
+				Math.floorDiv(positionX, this.pixelSize),
+				Math.floorDiv(baseline - this.metrics.getAscent(),
+						this.pixelSize), null);
+	}
+
+	/**
+	 * Getter for the width of the text last drawn.
+	 *
+	 * @return Width of the text.
+	 */
+	int getWidth() {
+		return this.width;
+	}
+
+	/**
+	 * Getter for the height of the text.
+	 *
+	 * @return Height of the text.
+	 */
+	int getHeight() {
+		return this.metrics.getHeight();
+	}
+
+	/**
+	 * Getter for the distance from the top of the text to its baseline.
+	 *
+	 * @return Ascent of the font.
+	 */
+	int getAscent() {
+		return this.metrics.getAscent();
+	}
+}
@@ -9,7 +9,7 @@ import java.awt.event.KeyListener;
  * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
  * 
  */
-public final class InputManager implements KeyListener {
+public final class InputManager implements KeyListener, InputSource {
 
 	/** Number of recognised keys. */
 	private static final int NUM_KEYS = 256;
@@ -44,6 +44,7 @@ public final class InputManager implements KeyListener {
 	 *            Key number to check.
 	 * @return Key state.
 	 */
+	@Override
 	public boolean isKeyDown(final int keyCode) {
 		return keys[keyCode];
 	}
@@ -0,0 +1,16 @@
+package engine;
+
+/**
+ * Source of the keys pressed, either the keyboard or a scripted player.
+ */
+public interface InputSource {
+
+	/**
+	 * Returns true if the provided key is currently pressed.
+	 *
+	 * @param keyCode
+	 *            Key number to check.
+	 * @return Key state.
+	 */
+	boolean isKeyDown(int keyCode);
+}
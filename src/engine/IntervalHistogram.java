@@ -0,0 +1,134 @@
+package engine;
+
+/**
+ * Histogram of time intervals with a fixed relative precision, in the
+ * manner of HDR histograms: each power of two range of microseconds is
+ * split into the same number of buckets, so short and long intervals are
+ * both counted to within 1% with a fixed array. Recording allocates
+ * nothing.
+ */
+final class IntervalHistogram {
+
+	/** Bits of each value kept below its highest bit. */
+	private static final int SUB_BUCKET_BITS = 7;
+	/** Buckets in each power of two range. */
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	/** Power of two ranges covered, well beyond any frame interval. */
+	private static final int RANGES = 32;
+	/** Percentiles summarized. */
+	private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+	/** Number of intervals in each bucket. */
+	private final long[] counts;
+	/** Number of intervals recorded. */
+	private long total;
+	/** Sum of the intervals recorded, in microseconds. */
+	private long sum;
+	/** Longest interval recorded, in microseconds. */
+	private long max;
+
+	/**
+	 * Constructor.
+	 */
+	IntervalHistogram() {
+		this.counts = new long[RANGES * SUB_BUCKETS];
+	}
+
+	/**
+	 * Counts an interval.
+	 *
+	 * @param nanos
+	 *            Interval, in nanoseconds.
+	 */
+	void record(final long nanos) {
+		long micros = Math.max(0, nanos / 1000);
+		this.counts[bucket(micros)]++;
+		this.total++;
+		this.sum += micros;
+		this.max = Math.max(this.max, micros);
+	}
+
+	/**
+	 * Finds the bucket of a value.
+	 *
+	 * @param micros
+	 *            Value, in microseconds.
+	 * @return Index of its bucket.
+	 */
+	private static int bucket(final long micros) {
+		if (micros < SUB_BUCKETS) {
+			return (int) micros;
+		}
+		int range = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS
+				+ 1;
+		if (range >= RANGES) {
+			return RANGES * SUB_BUCKETS - 1;
+		}
+		int subBucket = (int) (micros >>> (range - 1)) - SUB_BUCKETS;
+		return range * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Finds the highest value counted in a bucket.
+	 *
+	 * @param bucket
+	 *            Index of the bucket.
+	 * @return Highest value, in microseconds.
+	 */
+	private static long upperBound(final int bucket) {
+		int range = bucket / SUB_BUCKETS;
+		int subBucket = bucket % SUB_BUCKETS;
+		if (range == 0) {
+			return subBucket;
+		}
+		return ((long) (SUB_BUCKETS + subBucket + 1) << (range - 1)) - 1;
+	}
+
+	/**
+	 * Finds the value below which a percentage of the intervals fall.
+	 *
+	 * @param percentile
+	 *            Percentage, 0 to 100.
+	 * @return Upper bound of the bucket holding it, in microseconds.
+	 */
+	long getPercentile(final double percentile) {
+		long wanted = Math.max(1, (long) Math.ceil(this.total * percentile
+				/ 100));
+		long seen = 0;
+		for (int i = 0; i < this.counts.length; i++) {
+			seen += this.counts[i];
+			if (seen >= wanted) {
+				return Math.min(upperBound(i), this.max);
+			}
+		}
+		return this.max;
+	}
+
+	/**
+	 * Summarizes the intervals, followed by every bucket in use.
+	 *
+	 * @return Histogram, one bucket per line.
+	 */
+	String dump() {
+		if (this.total == 0) {
+			return "no intervals recorded";
+		}
+		StringBuilder summary = new StringBuilder(String.format(
+				"%d intervals, mean %.3f ms", this.total,
+				this.sum / 1000.0 / this.total));
+		for (double percentile : PERCENTILES) {
+			summary.append(String.format(", p%s %.3f ms",
+					percentile % 1 == 0 ? Integer.toString((int) percentile)
+							: Double.toString(percentile),
+					getPercentile(percentile) / 1000.0));
+		}
+		summary.append(String.format(", max %.3f ms", this.max / 1000.0));
+		for (int i = 0; i < this.counts.length; i++) {
+			if (this.counts[i] > 0) {
+				summary.append(String.format("%n  <= %9.3f ms %8d",
+						upperBound(i) / 1000.0, this.counts[i]));
+			}
+		}
+		return summary.toString();
+	}
+}
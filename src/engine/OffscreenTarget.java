@@ -0,0 +1,120 @@
+package engine;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Render target that keeps the frames in an image instead of showing them,
+ * so the drawing code can run without a display. Frames are kept at the
+ * resolution of the logical framebuffer. Like a window, it only
+ * receives the regions that changed on each frame. Frames can be written
+ * to PNG files.
+ */
+public final class OffscreenTarget implements RenderTarget {
+
+	/** Image holding the last frame presented. */
+	private final BufferedImage image;
+	/** Graphics context of the image. */
+	private final Graphics graphics;
+	/** Directory the frames are written to, null to not write them. */
+	private File dumpDirectory;
+	/** Frames presented between two written frames. */
+	private int dumpInterval;
+	/** Number of frames presented. */
+	private long frames;
+	/** Number of frames written. */
+	private long dumpedFrames;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param width
+	 *            Width of the frames, in logical pixels.
+	 * @param height
+	 *            Height of the frames, in logical pixels.
+	 */
+	public OffscreenTarget(final int width, final int height) {
+		this.image = new BufferedImage(width, height,
+				BufferedImage.TYPE_INT_RGB);
+		this.graphics = this.image.getGraphics();
+	}
+
+	/**
+	 * Writes every given number of frames to a directory, named after
+	 * their number.
+	 *
+	 * @param directory
+	 *            Directory to write to, null to stop writing frames.
+	 * @param interval
+	 *            Frames presented between two written frames.
+	 */
+	public void setDumpDirectory(final File directory, final int interval) {
+		if (directory != null && !directory.isDirectory()
+				&& !directory.mkdirs()) {
+			Core.getLogger().warning("Couldn't create frame directory "
+					+ directory + ".");
+		}
+		this.dumpDirectory = directory;
+		this.dumpInterval = Math.max(1, interval);
+	}
+
+	@Override
+	public void present(final BufferedImage backBuffer,
+			final DirtyRegions regions) {
+		regions.blit(this.graphics, backBuffer, 0, 0, 1);
+		this.frames++;
+
+		if (this.dumpDirectory != null
+				&& this.frames % this.dumpInterval == 0) {
+			File file = new File(this.dumpDirectory,
+					String.format("frame%06d.png", this.frames));
+			try {
+				writePng(file);
+				this.dumpedFrames++;
+			} catch (IOException e) {
+				Core.getLogger().warning("Couldn't write frame " + file
+						+ ".");
+			}
+		}
+	}
+
+	/**
+	 * Writes the last frame presented to a PNG file.
+	 *
+	 * @param file
+	 *            File to write.
+	 * @throws IOException
+	 *             In case of writing problems.
+	 */
+	public void writePng(final File file) throws IOException {
+		ImageIO.write(this.image, "png", file);
+	}
+
+	/**
+	 * Getter for the last frame presented. The image is drawn on by the
+	 * following frames.
+	 *
+	 * @return Image holding the frame.
+	 */
+	public BufferedImage getImage() {
+		return this.image;
+	}
+
+	/**
+	 * Getter for the number of frames presented.
+	 *
+	 * @return Frames presented.
+	 */
+	public long getFrames() {
+		return this.frames;
+	}
+
+	@Override
+	public String getStatistics() {
+		return String.format("Offscreen: %d frames presented, %d written",
+				this.frames, this.dumpedFrames);
+	}
+}
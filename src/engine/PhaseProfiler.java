@@ -0,0 +1,187 @@
+package engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Times the phases of the game screen update with System.nanoTime,
+ * keeping the last samples of each phase to report rolling averages and
+ * 99th percentiles. Recording a sample writes into a preallocated ring, so
+ * it can be left on; when profiling is switched off, every call returns at
+ * once on a constant and costs nothing once compiled.
+ */
+public final class PhaseProfiler {
+
+	/** Samples kept for each phase, ten seconds of updates. */
+	private static final int WINDOW = 600;
+	/** Nanoseconds in a millisecond. */
+	private static final double NANOS_PER_MILLI = 1000000.0;
+
+	/** Phases timed. */
+	public enum Phase {
+		/** Pause keys and ship controls. */
+		INPUT,
+		/** Special ship movement, spawning and removal. */
+		SPECIAL_SHIP,
+		/** Ship and formation updates. */
+		FORMATION,
+		/** Formation shots. */
+		SHOOT,
+		/** Bullet collisions. */
+		COLLISIONS,
+		/** Removal of the bullets off screen. */
+		CLEANUP,
+		/** Particle updates. */
+		EFFECTS,
+		/** Drawing of the frame. */
+		DRAW,
+		/** Whole update, every phase included. */
+		UPDATE
+	}
+
+	/** Last samples of each phase, in nanoseconds. */
+	private final long[][] samples;
+	/** Samples recorded for each phase since the start. */
+	private final long[] counts;
+	/** Sum of the samples in the window of each phase. */
+	private final long[] windowSums;
+	/** Longest sample of each phase since the start. */
+	private final long[] maxima;
+
+	/**
+	 * Constructor.
+	 */
+	PhaseProfiler() {
+		int phases = Phase.values().length;
+		this.samples = new long[phases][WINDOW];
+		this.counts = new long[phases];
+		this.windowSums = new long[phases];
+		this.maxima = new long[phases];
+	}
+
+	/**
+	 * Starts timing a phase.
+	 *
+	 * @return Start time, 0 if profiling is off.
+	 */
+	public long start() {
+		if (!Core.PROFILING) {
+			return 0;
+		}
+		return System.nanoTime();
+	}
+
+	/**
+	 * Ends timing a phase, which also starts timing the next one.
+	 *
+	 * @param phase
+	 *            Phase ended.
+	 * @param start
+	 *            Start time of the phase, as returned by start or end.
+	 * @return End time, the start of the next phase, 0 if profiling is off.
+	 */
+	public long end(final Phase phase, final long start) {
+		if (!Core.PROFILING) {
+			return 0;
+		}
+		long now = System.nanoTime();
+		record(phase.ordinal(), now - start);
+		return now;
+	}
+
+	/**
+	 * Records a sample, replacing the oldest one in the window.
+	 *
+	 * @param phase
+	 *            Ordinal of the phase.
+	 * @param nanos
+	 *            Time taken, in nanoseconds.
+	 */
+	private void record(final int phase, final long nanos) {
+		int slot = (int) (this.counts[phase] % WINDOW);
+		this.windowSums[phase] += nanos - this.samples[phase][slot];
+		this.samples[phase][slot] = nanos;
+		this.counts[phase]++;
+		this.maxima[phase] = Math.max(this.maxima[phase], nanos);
+	}
+
+	/**
+	 * Calculates the average of the samples in the window of a phase.
+	 *
+	 * @param phase
+	 *            Ordinal of the phase.
+	 * @return Average, in milliseconds.
+	 */
+	private double getAverage(final int phase) {
+		int size = (int) Math.min(this.counts[phase], WINDOW);
+		if (size == 0) {
+			return 0;
+		}
+		return this.windowSums[phase] / NANOS_PER_MILLI / size;
+	}
+
+	/**
+	 * Calculates the 99th percentile of the samples in the window of a
+	 * phase.
+	 *
+	 * @param phase
+	 *            Ordinal of the phase.
+	 * @return 99th percentile, in milliseconds.
+	 */
+	private double getP99(final int phase) {
+		int size = (int) Math.min(this.counts[phase], WINDOW);
+		if (size == 0) {
+			return 0;
+		}
+		long[] sorted = Arrays.copyOf(this.samples[phase], size);
+		Arrays.sort(sorted);
+		return sorted[(int) Math.ceil(size * 0.99) - 1] / NANOS_PER_MILLI;
+	}
+
+	/**
+	 * Summarizes the phases: averages and percentiles over the last samples
+	 * of each, sample counts and maxima since the start.
+	 *
+	 * @return One line per phase with its averages and percentiles.
+	 */
+	public String dump() {
+		if (!Core.PROFILING) {
+			return "Phase profile: profiling is off.";
+		}
+		StringBuilder dump = new StringBuilder(String.format(
+				"Phase profile, avg and p99 over the last %d samples, "
+				+ "samples and max since the start:%n  %-12s %10s %9s %9s %9s",
+				WINDOW, "phase", "samples", "avg ms", "p99 ms", "max ms"));
+		for (Phase phase : Phase.values()) {
+			int i = phase.ordinal();
+			dump.append(String.format("%n  %-12s %10d %9.3f %9.3f %9.3f",
+					phase, this.counts[i], getAverage(i), getP99(i),
+					this.maxima[i] / NANOS_PER_MILLI));
+		}
+		return dump.toString();
+	}
+
+	/**
+	 * Writes the summary of the phases as CSV.
+	 *
+	 * @param file
+	 *            File to write.
+	 * @throws IOException
+	 *             In case of problems writing the file.
+	 */
+	public void writeCsv(final File file) throws IOException {
+		try (PrintWriter writer = new PrintWriter(file, "UTF-8")) {
+			writer.println("phase,samples,avg_ms,p99_ms,max_ms");
+			for (Phase phase : Phase.values()) {
+				int i = phase.ordinal();
+				writer.println(String.format(Locale.ROOT,
+						"%s,%d,%.4f,%.4f,%.4f", phase, this.counts[i],
+						getAverage(i), getP99(i),
+						this.maxima[i] / NANOS_PER_MILLI));
+			}
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package engine;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Shows finished frames on screen, keeping track of how long it takes.
+ */
+abstract class Presenter {
+
+	/** Nanoseconds in a millisecond. */
+	private static final double NANOS_PER_MILLI = 1000000.0;
+
+	/** Window pixels per pixel of the frame. */
+	protected final int scale;
+	/** Number of frames presented. */
+	private long frames;
+	/** Moment of the last presentation. */
+	private long lastPresentTime;
+	/** Sum of the presentation times, in milliseconds. */
+	private double presentSum;
+	/** Sum of the squared presentation times. */
+	private double presentSquaredSum;
+	/** Sum of the intervals between frames, in milliseconds. */
+	private double intervalSum;
+	/** Sum of the squared intervals between frames. */
+	private double intervalSquaredSum;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param scale
+	 *            Window pixels per pixel of the frame.
+	 */
+	Presenter(final int scale) {
+		this.scale = scale;
+	}
+
+	/**
+	 * Shows a finished frame.
+	 *
+	 * @param image
+	 *            Back buffer holding the frame.
+	 * @param regions
+	 *            Regions of the back buffer that changed.
+	 */
+	final void present(final BufferedImage image, final DirtyRegions regions) {
+		long start = System.nanoTime();
+		if (this.lastPresentTime != 0) {
+			double interval = (start - this.lastPresentTime) / NANOS_PER_MILLI;
+			this.intervalSum += interval;
+			this.intervalSquaredSum += interval * interval;
+		}
+		this.lastPresentTime = start;
+
+		show(image, regions);
+
+		double presentTime = (System.nanoTime() - start) / NANOS_PER_MILLI;
+		this.presentSum += presentTime;
+		this.presentSquaredSum += presentTime * presentTime;
+		this.frames++;
+	}
+
+	/**
+	 * Copies the frame to the screen, scaled up without interpolation.
+	 *
+	 * @param image
+	 *            Back buffer holding the frame.
+	 * @param regions
+	 *            Regions of the back buffer that changed.
+	 */
+	protected abstract void show(BufferedImage image, DirtyRegions regions);
+
+	/**
+	 * Getter for the name of the backend, used in the logs.
+	 *
+	 * @return Name of the presenter.
+	 */
+	protected abstract String getName();
+
+	/**
+	 * Summarizes present latency and frame time variance.
+	 *
+	 * @return Statistics of the frames presented until now.
+	 */
+	final String getStatistics() {
+		if (this.frames < 2) {
+			return getName() + " presenter: not enough frames.";
+		}
+		double presentMean = this.presentSum / this.frames;
+		double intervalMean = this.intervalSum / (this.frames - 1);
+		return String.format("%s presenter: %d frames, present %.3f ms "
+				+ "(sd %.3f), frame interval %.3f ms (sd %.3f)", getName(),
+				this.frames, presentMean, deviation(this.presentSquaredSum,
+						presentMean, this.frames), intervalMean,
+				deviation(this.intervalSquaredSum, intervalMean,
+						this.frames - 1));
+	}
+
+	/**
+	 * Calculates a standard deviation from the accumulated sums.
+	 *
+	 * @param squaredSum
+	 *            Sum of the squared samples.
+	 * @param mean
+	 *            Mean of the samples.
+	 * @param count
+	 *            Number of samples.
+	 * @return Standard deviation.
+	 */
+	private static double deviation(final double squaredSum,
+			final double mean, final long count) {
+		return Math.sqrt(Math.max(0, squaredSum / count - mean * mean));
+	}
+}
@@ -0,0 +1,31 @@
+package engine;
+
+/**
+ * Clock following real time, read from System.nanoTime so that it never
+ * goes back when the system time is changed.
+ */
+public final class RealTimeClock implements GameClock {
+
+	/** Nanoseconds in a millisecond. */
+	private static final long NANOS_PER_MILLI = 1000000L;
+
+	/**
+	 * Getter for the current time.
+	 *
+	 * @return Current time, in milliseconds.
+	 */
+	@Override
+	public long getMillis() {
+		return System.nanoTime() / NANOS_PER_MILLI;
+	}
+
+	/**
+	 * Ignores the updates, time passes on its own.
+	 *
+	 * @param nanos
+	 *            Length of the update, in nanoseconds.
+	 */
+	@Override
+	public void advance(final long nanos) {
+	}
+}
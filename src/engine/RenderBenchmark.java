@@ -0,0 +1,336 @@
+package engine;
+
+import engine.DrawManager.SpriteType;
+import entity.Bullet;
+import entity.EnemyShip;
+import entity.Entity;
+import entity.ParticlePool;
+import entity.Ship;
+import screen.Screen;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the time needed to draw a full level 7 scene, comparing the
+ * per-pixel sprite drawing at screen resolution with the sprite atlas and
+ * the raster blitter on the half resolution logical framebuffer, the
+ * memory allocated per frame to prepare the back buffer, and the time the
+ * DrawManager takes to draw the title screen and a particle stress test on
+ * an offscreen target.
+ *
+ * Run with: java -Djava.awt.headless=true engine.RenderBenchmark [frames]
+ * [title.png]
+ */
+public final class RenderBenchmark {
+
+	/** Width of the screen. */
+	private static final int WIDTH = 448;
+	/** Height of the screen. */
+	private static final int HEIGHT = 520;
+	/** Screen units per pixel of the logical framebuffer. */
+	private static final int PIXEL_SIZE = 2;
+	/** Frames drawn before measuring. */
+	private static final int WARMUP_FRAMES = 500;
+	/** Frames measured by default. */
+	private static final int DEFAULT_FRAMES = 2000;
+	/** Particles kept alive by the particle stress test. */
+	private static final int STRESS_PARTICLES = 50000;
+	/** Keeps the results of measured work from being optimized away. */
+	private static volatile long sink;
+
+	/** Ways of drawing the sprites. */
+	private enum Mode {
+		/** One drawRect per lit pixel, at screen resolution. */
+		PIXELS,
+		/** One drawImage from the sprite atlas, at logical resolution. */
+		ATLAS,
+		/** Pixels written straight into the logical framebuffer. */
+		RASTER
+	}
+
+	/**
+	 * Constructor, not called.
+	 */
+	private RenderBenchmark() {
+
+	}
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args
+	 *            Optional number of measured frames, and file to write the
+	 *            last title screen frame to.
+	 * @throws IOException
+	 *             In case of problems writing the frame.
+	 */
+	public static void main(final String[] args) throws IOException {
+		int frames = args.length > 0 ? Integer.parseInt(args[0])
+				: DEFAULT_FRAMES;
+
+		Core.getDrawManager();
+		SpriteMasks spriteMasks = Core.getDrawManager().getSpriteMasks();
+		SpriteAtlas spriteAtlas = new SpriteAtlas(spriteMasks,
+				SpriteAtlas.DEFAULT_CAPACITY);
+		SpriteBlitter spriteBlitter = new SpriteBlitter(spriteMasks);
+		List<Entity> scene = createScene();
+
+		System.out.println(String.format("%d entities, %d frames:",
+				scene.size(), frames));
+		List<Entity> empty = new ArrayList<Entity>();
+		for (Mode mode : Mode.values()) {
+			int scale = mode == Mode.PIXELS ? 1 : PIXEL_SIZE;
+			BufferedImage backBuffer = new BufferedImage(WIDTH / scale,
+					HEIGHT / scale, BufferedImage.TYPE_INT_RGB);
+
+			// Clearing depends on the buffer size only, so it is left out
+			// of the entity throughput.
+			drawFrames(backBuffer, empty, spriteMasks, spriteAtlas,
+					spriteBlitter, mode, WARMUP_FRAMES);
+			double clearTime = drawFrames(backBuffer, empty, spriteMasks,
+					spriteAtlas, spriteBlitter, mode, frames);
+			drawFrames(backBuffer, scene, spriteMasks, spriteAtlas,
+					spriteBlitter, mode, WARMUP_FRAMES);
+			double time = drawFrames(backBuffer, scene, spriteMasks,
+					spriteAtlas, spriteBlitter, mode, frames);
+			System.out.println(String.format(
+					"  %-6s %dx%d, %.3f ms/frame (clear %.3f), %.0f entities/ms",
+					mode, backBuffer.getWidth(), backBuffer.getHeight(), time,
+					clearTime, scene.size() / (time - clearTime)));
+		}
+		System.out.println(spriteAtlas.getStatistics());
+
+		Font font = new Font(Font.MONOSPACED, Font.PLAIN, 14);
+		measureInitDrawing(font, true, WARMUP_FRAMES);
+		long freshBytes = measureInitDrawing(font, true, frames);
+		measureInitDrawing(font, false, WARMUP_FRAMES);
+		long persistentBytes = measureInitDrawing(font, false, frames);
+
+		System.out.println(String.format(
+				"back buffer setup: per-frame buffer %d bytes/frame, persistent buffer %d bytes/frame",
+				freshBytes, persistentBytes));
+
+		OffscreenTarget target = new OffscreenTarget(WIDTH / PIXEL_SIZE,
+				HEIGHT / PIXEL_SIZE);
+		Core.getDrawManager().setRenderTarget(target);
+		Screen screen = new Screen(WIDTH, HEIGHT, 60);
+		drawTitleScreen(screen, WARMUP_FRAMES);
+		double titleTime = drawTitleScreen(screen, frames);
+		System.out.println(String.format("title screen: %.3f ms/frame, %s",
+				titleTime, target.getStatistics()));
+		if (args.length > 1) {
+			target.writePng(new File(args[1]));
+		}
+
+		ParticlePool particles = new ParticlePool(STRESS_PARTICLES);
+		com.sun.management.ThreadMXBean threadBean =
+				(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		for (boolean raster : new boolean[] { false, true }) {
+			Core.getDrawManager().setRasterBlitting(raster);
+			drawParticles(screen, particles, WARMUP_FRAMES);
+			long allocated = threadBean.getCurrentThreadAllocatedBytes();
+			double particleTime = drawParticles(screen, particles, frames);
+			allocated = threadBean.getCurrentThreadAllocatedBytes()
+					- allocated;
+			System.out.println(String.format(
+					"%d particles, %s: %.3f ms/frame, %d bytes/frame",
+					STRESS_PARTICLES, raster ? "raster" : "atlas",
+					particleTime, allocated / frames));
+		}
+	}
+
+	/**
+	 * Keeps a pool full of particles, updating and drawing it through the
+	 * DrawManager a number of times.
+	 *
+	 * @param screen
+	 *            Screen to draw in.
+	 * @param particles
+	 *            Pool of particles.
+	 * @param frames
+	 *            Number of frames to draw.
+	 * @return Average time per frame, in milliseconds.
+	 */
+	private static double drawParticles(final Screen screen,
+			final ParticlePool particles, final int frames) {
+		DrawManager drawManager = Core.getDrawManager();
+		long start = System.nanoTime();
+		for (int frame = 0; frame < frames; frame++) {
+			particles.fillRandomly(STRESS_PARTICLES, WIDTH, HEIGHT);
+			particles.update();
+			drawManager.initDrawing(screen);
+			drawManager.drawParticles(particles);
+			drawManager.completeDrawing(screen);
+		}
+		return (System.nanoTime() - start) / 1000000.0 / frames;
+	}
+
+	/**
+	 * Draws the title screen through the DrawManager a number of times.
+	 *
+	 * @param screen
+	 *            Screen to draw in.
+	 * @param frames
+	 *            Number of frames to draw.
+	 * @return Average time per frame, in milliseconds.
+	 */
+	private static double drawTitleScreen(final Screen screen,
+			final int frames) {
+		DrawManager drawManager = Core.getDrawManager();
+		long start = System.nanoTime();
+		for (int frame = 0; frame < frames; frame++) {
+			drawManager.initDrawing(screen);
+			if (drawManager.beginStaticLayer(screen, 0)) {
+				drawManager.drawTitle(screen);
+				drawManager.endStaticLayer(screen);
+			}
+			drawManager.drawMenu(screen, frame / 100 % 4 + 1);
+			drawManager.completeDrawing(screen);
+		}
+		return (System.nanoTime() - start) / 1000000.0 / frames;
+	}
+
+	/**
+	 * Measures the memory allocated to get the back buffer ready for a new
+	 * frame.
+	 *
+	 * @param font
+	 *            Font whose metrics are fetched.
+	 * @param fresh
+	 *            True to allocate a new back buffer every frame, false to
+	 *            clear a persistent one.
+	 * @param frames
+	 *            Number of frames to prepare.
+	 * @return Average bytes allocated per frame.
+	 */
+	private static long measureInitDrawing(final Font font,
+			final boolean fresh, final int frames) {
+		com.sun.management.ThreadMXBean threadBean =
+				(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		BufferedImage backBuffer = new BufferedImage(WIDTH, HEIGHT,
+				BufferedImage.TYPE_INT_RGB);
+		Graphics graphics = backBuffer.getGraphics();
+		long lineHeights = 0;
+
+		long start = threadBean.getCurrentThreadAllocatedBytes();
+		for (int frame = 0; frame < frames; frame++) {
+			if (fresh) {
+				graphics.dispose();
+				backBuffer = new BufferedImage(WIDTH, HEIGHT,
+						BufferedImage.TYPE_INT_RGB);
+				graphics = backBuffer.getGraphics();
+				FontMetrics metrics = graphics.getFontMetrics(font);
+				lineHeights += metrics.getHeight();
+			}
+			graphics.setColor(Color.BLACK);
+			graphics.fillRect(0, 0, WIDTH, HEIGHT);
+		}
+		long allocated = threadBean.getCurrentThreadAllocatedBytes() - start;
+		graphics.dispose();
+		sink += lineHeights;
+		return allocated / frames;
+	}
+
+	/**
+	 * Creates a full 8x7 formation, the player ship, a volley of bullets and
+	 * the life icons.
+	 *
+	 * @return Entities to draw each frame.
+	 */
+	private static List<Entity> createScene() {
+		List<Entity> scene = new ArrayList<Entity>();
+		SpriteType[] rows = { SpriteType.EnemyShipC1, SpriteType.EnemyShipB1,
+				SpriteType.EnemyShipB2, SpriteType.EnemyShipA1,
+				SpriteType.EnemyShipA2, SpriteType.EnemyShipA1,
+				SpriteType.EnemyShipA2 };
+		for (int i = 0; i < 8; i++) {
+			for (int j = 0; j < rows.length; j++) {
+				scene.add(new EnemyShip(20 + 40 * i, 100 + 40 * j, rows[j]));
+			}
+		}
+		scene.add(new EnemyShip());
+		scene.add(new Ship(WIDTH / 2, HEIGHT - 30, Color.GREEN));
+		for (int i = 0; i < 3; i++) {
+			scene.add(new Ship(40 + 35 * i, 10, new Color(0, 178, 0)));
+		}
+		for (int i = 0; i < 20; i++) {
+			scene.add(new Bullet(20 + 20 * i, 60 + 20 * i, i % 2 == 0 ? -6 : 4));
+		}
+		return scene;
+	}
+
+	/**
+	 * Draws the scene a number of times.
+	 *
+	 * @param backBuffer
+	 *            Image to draw on, at screen or logical resolution.
+	 * @param scene
+	 *            Entities to draw.
+	 * @param spriteMasks
+	 *            Sprite masks, used by the per-pixel path.
+	 * @param spriteAtlas
+	 *            Sprite atlas, used by the atlas path.
+	 * @param spriteBlitter
+	 *            Raster blitter, used by the raster path.
+	 * @param mode
+	 *            Way of drawing the sprites.
+	 * @param frames
+	 *            Number of frames to draw.
+	 * @return Average time per frame, in milliseconds.
+	 */
+	private static double drawFrames(final BufferedImage backBuffer,
+			final List<Entity> scene, final SpriteMasks spriteMasks,
+			final SpriteAtlas spriteAtlas, final SpriteBlitter spriteBlitter,
+			final Mode mode, final int frames) {
+		Graphics graphics = backBuffer.getGraphics();
+		int width = backBuffer.getWidth();
+		int height = backBuffer.getHeight();
+		int[] pixels = mode == Mode.RASTER ? ((DataBufferInt) backBuffer
+				.getRaster().getDataBuffer()).getData() : null;
+
+		long start = System.nanoTime();
+		for (int frame = 0; frame < frames; frame++) {
+			graphics.setColor(Color.BLACK);
+			graphics.fillRect(0, 0, width, height);
+			for (Entity entity : scene) {
+				if (mode == Mode.PIXELS) {
+					SpriteType spriteType = entity.getSpriteType();
+					graphics.setColor(entity.getColor());
+					for (int j = 0; j < spriteMasks.getHeight(spriteType); j++) {
+						long row = spriteMasks.getRow(spriteType, j);
+						while (row != 0) {
+							int i = Long.numberOfTrailingZeros(row);
+							row &= row - 1;
+							graphics.drawRect(entity.getPositionX() + i * 2,
+									entity.getPositionY() + j * 2, 1, 1);
+						}
+					}
+				} else if (mode == Mode.ATLAS) {
+					Rectangle region = spriteAtlas.getRegion(
+							entity.getSpriteType(), entity.getColor());
+					int x = entity.getPositionX() / PIXEL_SIZE;
+					int y = entity.getPositionY() / PIXEL_SIZE;
+					graphics.drawImage(spriteAtlas.getImage(), x, y,
+							x + region.width, y + region.height, region.x,
+							region.y, region.x + region.width,
+							region.y + region.height, null);
+				} else {
+					spriteBlitter.blit(pixels, width, height,
+							entity.getSpriteType(), entity.getColor().getRGB(),
+							entity.getPositionX() / PIXEL_SIZE,
+							entity.getPositionY() / PIXEL_SIZE);
+				}
+			}
+		}
+		long time = System.nanoTime() - start;
+		graphics.dispose();
+		return time / 1000000.0 / frames;
+	}
+}
@@ -0,0 +1,201 @@
+package engine;
+
+import engine.DrawManager.Layer;
+import engine.DrawManager.SpriteType;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collects the sprites drawn on a frame so they can be drawn sorted by
+ * layer, then sprite, then color, keeping sprites that share the same state
+ * together. Requests are stored in arrays reused from frame to frame.
+ */
+final class RenderQueue {
+
+	/** Initial number of requests held. */
+	private static final int INITIAL_CAPACITY = 256;
+	/** Bits of the sort key holding the request index. */
+	private static final int INDEX_BITS = 24;
+	/** Bits of the sort key holding the color id. */
+	private static final int COLOR_BITS = 24;
+	/** Bits of the sort key holding the sprite type. */
+	private static final int SPRITE_BITS = 8;
+
+	/** Sprite of each request. */
+	private SpriteType[] spriteTypes;
+	/** Color of each request. */
+	private Color[] colors;
+	/** Left side of each request. */
+	private int[] positionsX;
+	/** Upper side of each request. */
+	private int[] positionsY;
+	/** Sort key of each request, its index in the lowest bits. */
+	private long[] keys;
+	/** Number of requests queued. */
+	private int size;
+	/** Ids given to the colors, used to sort them. */
+	private final Map<Color, Integer> colorIds;
+	/** State changes of the requests in the order they were queued. */
+	private int queuedStateChanges;
+
+	/**
+	 * Constructor.
+	 */
+	RenderQueue() {
+		this.spriteTypes = new SpriteType[INITIAL_CAPACITY];
+		this.colors = new Color[INITIAL_CAPACITY];
+		this.positionsX = new int[INITIAL_CAPACITY];
+		this.positionsY = new int[INITIAL_CAPACITY];
+		this.keys = new long[INITIAL_CAPACITY];
+		this.colorIds = new HashMap<Color, Integer>();
+	}
+
+	/**
+	 * Queues a sprite.
+	 *
+	 * @param spriteType
+	 *            Sprite to draw.
+	 * @param color
+	 *            Color of the sprite.
+	 * @param positionX
+	 *            Left side of the sprite.
+	 * @param positionY
+	 *            Upper side of the sprite.
+	 * @param layer
+	 *            Layer the sprite is drawn on.
+	 */
+	void add(final SpriteType spriteType, final Color color,
+			final int positionX, final int positionY, final Layer layer) {
+		if (this.size == this.keys.length) {
+			grow();
+		}
+		Integer colorId = this.colorIds.get(color);
+		if (colorId == null) {
+			colorId = this.colorIds.size();
+			this.colorIds.put(color, colorId);
+		}
+		if (this.size == 0 || spriteType != this.spriteTypes[this.size - 1]
+				|| !color.equals(this.colors[this.size - 1])) {
+			this.queuedStateChanges++;
+		}
+
+		this.spriteTypes[this.size] = spriteType;
+		this.colors[this.size] = color;
+		this.positionsX[this.size] = positionX;
+		this.positionsY[this.size] = positionY;
+		this.keys[this.size] = (long) layer.ordinal()
+				<< (SPRITE_BITS + COLOR_BITS + INDEX_BITS)
+				| (long) spriteType.ordinal() << (COLOR_BITS + INDEX_BITS)
+				| (long) colorId << INDEX_BITS | this.size;
+		this.size++;
+	}
+
+	/**
+	 * Doubles the space for requests.
+	 */
+	private void grow() {
+		int capacity = this.keys.length * 2;
+		if (capacity > 1 << INDEX_BITS) {
+			throw new IllegalStateException("Too many sprites queued.");
+		}
+		this.spriteTypes = Arrays.copyOf(this.spriteTypes, capacity);
+		this.colors = Arrays.copyOf(this.colors, capacity);
+		this.positionsX = Arrays.copyOf(this.positionsX, capacity);
+		this.positionsY = Arrays.copyOf(this.positionsY, capacity);
+		this.keys = Arrays.copyOf(this.keys, capacity);
+	}
+
+	/**
+	 * Sorts the queued requests. Requests with the same layer, sprite and
+	 * color keep the order they were queued in.
+	 */
+	void sort() {
+		Arrays.sort(this.keys, 0, this.size);
+	}
+
+	/**
+	 * Getter for the number of requests queued.
+	 *
+	 * @return Number of requests.
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Getter for the sprite of a sorted request.
+	 *
+	 * @param position
+	 *            Position of the request once sorted.
+	 * @return Sprite to draw.
+	 */
+	SpriteType getSpriteType(final int position) {
+		return this.spriteTypes[index(position)];
+	}
+
+	/**
+	 * Getter for the color of a sorted request.
+	 *
+	 * @param position
+	 *            Position of the request once sorted.
+	 * @return Color of the sprite.
+	 */
+	Color getColor(final int position) {
+		return this.colors[index(position)];
+	}
+
+	/**
+	 * Getter for the left side of a sorted request.
+	 *
+	 * @param position
+	 *            Position of the request once sorted.
+	 * @return Left side of the sprite.
+	 */
+	int getPositionX(final int position) {
+		return this.positionsX[index(position)];
+	}
+
+	/**
+	 * Getter for the upper side of a sorted request.
+	 *
+	 * @param position
+	 *            Position of the request once sorted.
+	 * @return Upper side of the sprite.
+	 */
+	int getPositionY(final int position) {
+		return this.positionsY[index(position)];
+	}
+
+	/**
+	 * Finds the request at a sorted position.
+	 *
+	 * @param position
+	 *            Position of the request once sorted.
+	 * @return Index the request was queued at.
+	 */
+	private int index(final int position) {
+		return (int) (this.keys[position] & ((1L << INDEX_BITS) - 1));
+	}
+
+	/**
+	 * Getter for the state changes there would have been drawing the
+	 * requests in the order they were queued.
+	 *
+	 * @return State changes before sorting.
+	 */
+	int getQueuedStateChanges() {
+		return this.queuedStateChanges;
+	}
+
+	/**
+	 * Empties the queue, keeping its space.
+	 */
+	void clear() {
+		Arrays.fill(this.colors, 0, this.size, null);
+		this.size = 0;
+		this.queuedStateChanges = 0;
+	}
+}
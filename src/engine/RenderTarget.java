@@ -0,0 +1,27 @@
+package engine;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Destination of the frames drawn by the DrawManager, either a window on
+ * screen or an image in memory.
+ */
+public interface RenderTarget {
+
+	/**
+	 * Shows a finished frame.
+	 *
+	 * @param image
+	 *            Back buffer holding the frame.
+	 * @param regions
+	 *            Regions of the back buffer that changed.
+	 */
+	void present(BufferedImage image, DirtyRegions regions);
+
+	/**
+	 * Summarizes the frames presented.
+	 *
+	 * @return Statistics of the target.
+	 */
+	String getStatistics();
+}
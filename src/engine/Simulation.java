@@ -0,0 +1,105 @@
+package engine;
+
+import screen.GameScreen;
+
+import java.awt.*;
+import java.util.logging.Level;
+
+/**
+ * Plays complete single player games with no window, no waiting and no
+ * drawing, as fast as the CPU allows, with a scripted player on a manual
+ * clock. Used to soak test the difficulty settings and to reproduce bugs:
+ * game n plays with seed + n - 1, for both the scripted player and the
+ * gameplay randomness, so running a single game with that seed replays it.
+ *
+ * Run with: java engine.Simulation [games] [difficulty] [seed]
+ */
+public final class Simulation {
+
+	/** Width of the screen. */
+	private static final int WIDTH = 448;
+	/** Height of the screen. */
+	private static final int HEIGHT = 520;
+	/** Updates per second of the game. */
+	private static final int FPS = 60;
+	/** Games played by default. */
+	private static final int DEFAULT_GAMES = 10;
+	/** Most updates a level may take, ten minutes of game time. */
+	private static final long MAX_LEVEL_TICKS = 10 * 60 * FPS;
+
+	/**
+	 * Constructor, not called.
+	 */
+	private Simulation() {
+
+	}
+
+	/**
+	 * Runs the simulation.
+	 *
+	 * @param args
+	 *            Optional number of games, difficulty from 0 to 3 and seed
+	 *            of the first game.
+	 */
+	public static void main(final String[] args) {
+		System.setProperty("java.awt.headless", "true");
+		int games = args.length > 0 ? Integer.parseInt(args[0])
+				: DEFAULT_GAMES;
+		int difficulty = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+		Core.getLogger().setLevel(Level.WARNING);
+		Core.getDrawManager();
+
+		long totalTicks = 0;
+		long start = System.nanoTime();
+		for (int game = 0; game < games; game++) {
+			Core.startReplay(seed + game);
+			BotInput bot = new BotInput(seed + game);
+			GameState gameState = new GameState(1, 0, Core.MAX_LIVES, 0, 0);
+			long gameTicks = 0;
+			boolean timedOut = false;
+			do {
+				boolean bonusLife = gameState.getLevel()
+						% Core.EXTRA_LIFE_FRECUENCY == 0
+						&& gameState.getLivesRemaining() < Core.MAX_LIVES;
+				GameScreen screen = new GameScreen(gameState,
+						Core.getLevelSettings(difficulty,
+								gameState.getLevel()),
+						bonusLife, WIDTH, HEIGHT, FPS, 0, Color.GREEN);
+				screen.setInputSource(bot);
+				screen.setFastForward(MAX_LEVEL_TICKS);
+				screen.initialize();
+				screen.run();
+				gameTicks += screen.getTicksRun();
+				timedOut = screen.getTicksRun() >= MAX_LEVEL_TICKS;
+
+				gameState = screen.getGameState();
+				gameState = new GameState(gameState.getLevel() + 1,
+						gameState.getScore(),
+						gameState.getLivesRemaining(),
+						gameState.getBulletsShot(),
+						gameState.getShipsDestroyed());
+			} while (!timedOut && gameState.getLivesRemaining() > 0
+					&& gameState.getLevel() <= Core.NUM_LEVELS);
+
+			totalTicks += gameTicks;
+			System.out.println(String.format(
+					"game %d: reached level %d%s, score %d, %d lives, "
+							+ "%d ships destroyed, %d bullets, %d ticks",
+					game + 1, gameState.getLevel() - 1,
+					timedOut ? " (timed out)" : "", gameState.getScore(),
+					gameState.getLivesRemaining(),
+					gameState.getShipsDestroyed(),
+					gameState.getBulletsShot(), gameTicks));
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		double ticksPerSecond = totalTicks / seconds;
+		System.out.println(String.format(
+				"%d ticks in %.2f s: %.0f ticks/s, %.0fx real time, "
+						+ "%.0f games/hour",
+				totalTicks, seconds, ticksPerSecond, ticksPerSecond / FPS,
+				games / seconds * 3600));
+		System.out.println(Core.getProfiler().dump());
+	}
+}
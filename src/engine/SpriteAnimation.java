@@ -0,0 +1,87 @@
+package engine;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Animation shared by a group of entities, such as an enemy formation.
+ * Advanced once per game tick, it switches the frame of every sprite of the
+ * group at once, so all of them animate in sync.
+ */
+public final class SpriteAnimation {
+
+	/** Frames of each animated sprite family, in order. */
+	private static final SpriteType[][] FAMILIES = {
+			{ SpriteType.EnemyShipA1, SpriteType.EnemyShipA2 },
+			{ SpriteType.EnemyShipB1, SpriteType.EnemyShipB2 },
+			{ SpriteType.EnemyShipC1, SpriteType.EnemyShipC2 } };
+	/** Frames of the family of each sprite, by ordinal, null if still. */
+	private static final SpriteType[][] FRAMES =
+			new SpriteType[SpriteType.values().length][];
+	/** Position of each sprite in its family, by ordinal. */
+	private static final int[] FRAME_INDEXES =
+			new int[SpriteType.values().length];
+
+	static {
+		for (SpriteType[] family : FAMILIES) {
+			for (int i = 0; i < family.length; i++) {
+				FRAMES[family[i].ordinal()] = family;
+				FRAME_INDEXES[family[i].ordinal()] = i;
+			}
+		}
+	}
+
+	/** Ticks each frame is shown for. */
+	private final int interval;
+	/** Ticks since the frame last changed. */
+	private int ticks;
+	/** Frames advanced since the animation started. */
+	private int phase;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param interval
+	 *            Ticks each frame is shown for.
+	 */
+	public SpriteAnimation(final int interval) {
+		this.interval = interval;
+	}
+
+	/**
+	 * Advances the animation one tick, changing frame when the interval is
+	 * reached.
+	 */
+	public void tick() {
+		this.ticks++;
+		if (this.ticks >= this.interval) {
+			this.ticks = 0;
+			this.phase++;
+		}
+	}
+
+	/**
+	 * Getter for the frames advanced since the animation started.
+	 *
+	 * @return Animation phase.
+	 */
+	public int getPhase() {
+		return this.phase;
+	}
+
+	/**
+	 * Finds the frame currently shown for a sprite.
+	 *
+	 * @param spriteType
+	 *            Sprite the entity was created with.
+	 * @return Frame of its family for the current phase, or the sprite
+	 *         itself if it is not animated.
+	 */
+	public SpriteType getFrame(final SpriteType spriteType) {
+		SpriteType[] family = FRAMES[spriteType.ordinal()];
+		if (family == null) {
+			return spriteType;
+		}
+		return family[(FRAME_INDEXES[spriteType.ordinal()] + this.phase)
+				% family.length];
+	}
+}
@@ -0,0 +1,207 @@
+package engine;
+
+import engine.DrawManager.SpriteType;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of tinted sprites, packed into the fixed slots of a single
+ * image so that an entity can be drawn with one drawImage call. Each slot
+ * holds one sprite rasterized in one color; when all slots are taken the
+ * least recently used one is reused.
+ */
+final class SpriteAtlas {
+
+	/** Empty pixels between two slots. */
+	private static final int PADDING = 1;
+	/** Slots on each row of the atlas. */
+	private static final int SLOTS_PER_ROW = 8;
+	/** Default number of slots. */
+	static final int DEFAULT_CAPACITY = 64;
+
+	/** Source images of the sprites. */
+	private final SpriteMasks spriteMasks;
+	/** Slot in use for each sprite type and color. */
+	private final Map<SpriteType, Map<Color, Integer>> slots;
+	/** Atlas image. */
+	private final BufferedImage image;
+	/** Region of the sprite stored in each slot. */
+	private final Rectangle[] regions;
+	/** Sprite type stored in each slot. */
+	private final SpriteType[] slotTypes;
+	/** Color of the sprite stored in each slot. */
+	private final Color[] slotColors;
+	/** Last use of each slot, for the LRU eviction. */
+	private final long[] lastUse;
+	/** Pixels of one slot, reused to rasterize. */
+	private final int[] slotPixels;
+	/** Width of a slot. */
+	private final int slotWidth;
+	/** Height of a slot. */
+	private final int slotHeight;
+	/** Slots taken until now. */
+	private int usedSlots;
+	/** Counter used to order the slot uses. */
+	private long useCount;
+	/** Lookups that found their sprite already rasterized. */
+	private long hits;
+	/** Lookups that needed a rasterization. */
+	private long misses;
+	/** Sprites evicted to make room for another one. */
+	private long evictions;
+
+	/**
+	 * Constructor, sizes the slots after the biggest sprite.
+	 *
+	 * @param spriteMasks
+	 *            Loaded sprites.
+	 * @param capacity
+	 *            Maximum number of tinted sprites kept.
+	 */
+	SpriteAtlas(final SpriteMasks spriteMasks, final int capacity) {
+		this.spriteMasks = spriteMasks;
+		this.slots = new EnumMap<SpriteType, Map<Color, Integer>>(
+				SpriteType.class);
+		for (SpriteType spriteType : SpriteType.values()) {
+			this.slots.put(spriteType, new HashMap<Color, Integer>());
+		}
+
+		int maxWidth = 1;
+		int maxHeight = 1;
+		for (SpriteType spriteType : spriteMasks.getSpriteTypes()) {
+			maxWidth = Math.max(maxWidth, spriteMasks.getWidth(spriteType));
+			maxHeight = Math.max(maxHeight,
+					spriteMasks.getHeight(spriteType));
+		}
+		this.slotWidth = maxWidth;
+		this.slotHeight = maxHeight;
+		this.slotPixels = new int[maxWidth * maxHeight];
+
+		int rows = (capacity + SLOTS_PER_ROW - 1) / SLOTS_PER_ROW;
+		this.image = new BufferedImage(
+				Math.min(capacity, SLOTS_PER_ROW) * (maxWidth + PADDING),
+				rows * (maxHeight + PADDING), BufferedImage.TYPE_INT_ARGB);
+		this.regions = new Rectangle[capacity];
+		for (int i = 0; i < capacity; i++) {
+			this.regions[i] = new Rectangle(
+					(i % SLOTS_PER_ROW) * (maxWidth + PADDING),
+					(i / SLOTS_PER_ROW) * (maxHeight + PADDING), 0, 0);
+		}
+		this.slotTypes = new SpriteType[capacity];
+		this.slotColors = new Color[capacity];
+		this.lastUse = new long[capacity];
+	}
+
+	/**
+	 * Getter for the atlas image.
+	 *
+	 * @return Image holding every cached sprite.
+	 */
+	BufferedImage getImage() {
+		return this.image;
+	}
+
+	/**
+	 * Returns the region of the atlas holding a sprite in the given color,
+	 * rasterizing it if it is not cached.
+	 *
+	 * @param spriteType
+	 *            Sprite to look up.
+	 * @param color
+	 *            Color of the lit pixels.
+	 * @return Region of the tinted sprite, in atlas pixels, one per sprite
+	 *         pixel. Must not be
+	 *         modified.
+	 */
+	Rectangle getRegion(final SpriteType spriteType, final Color color) {
+		Map<Color, Integer> colors = this.slots.get(spriteType);
+		Integer slot = colors.get(color);
+		if (slot != null) {
+			this.hits++;
+		} else {
+			this.misses++;
+			slot = takeSlot();
+			rasterize(slot, spriteType, color);
+			colors.put(color, slot);
+		}
+		this.lastUse[slot] = ++this.useCount;
+		return this.regions[slot];
+	}
+
+	/**
+	 * Finds a free slot, evicting the least recently used sprite if there
+	 * are none.
+	 *
+	 * @return Index of the slot.
+	 */
+	private int takeSlot() {
+		if (this.usedSlots < this.regions.length) {
+			return this.usedSlots++;
+		}
+
+		int leastRecent = 0;
+		for (int i = 1; i < this.lastUse.length; i++) {
+			if (this.lastUse[i] < this.lastUse[leastRecent]) {
+				leastRecent = i;
+			}
+		}
+		this.slots.get(this.slotTypes[leastRecent])
+				.remove(this.slotColors[leastRecent]);
+		this.evictions++;
+		return leastRecent;
+	}
+
+	/**
+	 * Draws a sprite into a slot.
+	 *
+	 * @param slot
+	 *            Index of the slot.
+	 * @param spriteType
+	 *            Sprite to draw.
+	 * @param color
+	 *            Color of the lit pixels.
+	 */
+	private void rasterize(final int slot, final SpriteType spriteType,
+			final Color color) {
+		int width = this.spriteMasks.getWidth(spriteType);
+		int height = this.spriteMasks.getHeight(spriteType);
+		int argb = color.getRGB();
+
+		Arrays.fill(this.slotPixels, 0);
+		for (int j = 0; j < height; j++) {
+			long row = this.spriteMasks.getRow(spriteType, j);
+			while (row != 0) {
+				int i = Long.numberOfTrailingZeros(row);
+				row &= row - 1;
+				this.slotPixels[j * this.slotWidth + i] = argb;
+			}
+		}
+
+		// Goes through the raster so the image stays managed.
+		Rectangle region = this.regions[slot];
+		WritableRaster raster = this.image.getRaster();
+		raster.setDataElements(region.x, region.y, this.slotWidth,
+				this.slotHeight, this.slotPixels);
+		region.width = width;
+		region.height = height;
+		this.slotTypes[slot] = spriteType;
+		this.slotColors[slot] = color;
+	}
+
+	/**
+	 * Summarizes the cache usage.
+	 *
+	 * @return Hits, misses, evictions and slots in use.
+	 */
+	String getStatistics() {
+		return String.format("Sprite cache: %d hits, %d misses, %d evictions, "
+				+ "%d/%d slots used", this.hits, this.misses, this.evictions,
+				this.usedSlots, this.regions.length);
+	}
+}
@@ -0,0 +1,93 @@
+package engine;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Draws sprites by writing their pixels straight into the int array backing
+ * the back buffer, skipping the Java2D pipeline. Sprites are drawn at their
+ * authored size, one framebuffer pixel per sprite pixel, going through the
+ * lit bits of each packed row.
+ */
+final class SpriteBlitter {
+
+	/** Sprite images. */
+	private final SpriteMasks spriteMasks;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param spriteMasks
+	 *            Loaded sprites.
+	 */
+	SpriteBlitter(final SpriteMasks spriteMasks) {
+		this.spriteMasks = spriteMasks;
+	}
+
+	/**
+	 * Getter for the drawn width of a sprite.
+	 *
+	 * @param spriteType
+	 *            Sprite to measure.
+	 * @return Width in pixels.
+	 */
+	int getWidth(final SpriteType spriteType) {
+		return this.spriteMasks.getWidth(spriteType);
+	}
+
+	/**
+	 * Getter for the drawn height of a sprite.
+	 *
+	 * @param spriteType
+	 *            Sprite to measure.
+	 * @return Height in pixels.
+	 */
+	int getHeight(final SpriteType spriteType) {
+		return this.spriteMasks.getHeight(spriteType);
+	}
+
+	/**
+	 * Draws a sprite, clipped to the target bounds.
+	 *
+	 * @param pixels
+	 *            Pixels of the target, row by row.
+	 * @param targetWidth
+	 *            Width of the target.
+	 * @param targetHeight
+	 *            Height of the target.
+	 * @param spriteType
+	 *            Sprite to draw.
+	 * @param rgb
+	 *            Color of the lit pixels.
+	 * @param positionX
+	 *            Left side of the sprite.
+	 * @param positionY
+	 *            Upper side of the sprite.
+	 */
+	void blit(final int[] pixels, final int targetWidth,
+			final int targetHeight, final SpriteType spriteType,
+			final int rgb, final int positionX, final int positionY) {
+		long[] rows = this.spriteMasks.getRows();
+		int first = this.spriteMasks.getOffset(spriteType);
+		int height = this.spriteMasks.getHeight(spriteType);
+		boolean inside = positionX >= 0 && positionY >= 0
+				&& positionX + getWidth(spriteType) <= targetWidth
+				&& positionY + height <= targetHeight;
+
+		for (int j = 0; j < height; j++) {
+			int y = positionY + j;
+			if (!inside && (y < 0 || y >= targetHeight)) {
+				continue;
+			}
+			int offset = y * targetWidth + positionX;
+			long row = rows[first + j];
+			while (row != 0) {
+				int i = Long.numberOfTrailingZeros(row);
+				row &= row - 1;
+				if (inside || (positionX + i >= 0
+						&& positionX + i < targetWidth)) {
+					pixels[offset + i] = rgb;
+				}
+			}
+		}
+	}
+}
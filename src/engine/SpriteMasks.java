@@ -0,0 +1,238 @@
+package engine;
+
+import engine.DrawManager.SpriteType;
+
+import java.util.Arrays;
+
+/**
+ * Sprite images stored as bit masks, one long per sprite row, bit i being
+ * the pixel at column i. The rows of every sprite are kept in a single
+ * array, so drawing, tinting and collision checks can work a whole row at a
+ * time and skip empty pixels with bit operations.
+ */
+public final class SpriteMasks {
+
+	/** Maximum sprite width, so that rows doubled in width fit in a long. */
+	static final int MAX_WIDTH = 32;
+
+	/** Rows of every sprite, one after the other. */
+	private long[] rows;
+	/** Number of rows in use. */
+	private int rowCount;
+	/** Index of the first row of each sprite, by sprite type ordinal. */
+	private final int[] offsets;
+	/** Width of each sprite in pixels, by sprite type ordinal. */
+	private final int[] widths;
+	/** Height of each sprite in pixels, by sprite type ordinal. */
+	private final int[] heights;
+	/** Sprite types in the order they were added. */
+	private SpriteType[] order;
+
+	/**
+	 * Constructor, with no sprites.
+	 */
+	SpriteMasks() {
+		this.rows = new long[0];
+		this.offsets = new int[SpriteType.values().length];
+		this.widths = new int[SpriteType.values().length];
+		this.heights = new int[SpriteType.values().length];
+		this.order = new SpriteType[0];
+		Arrays.fill(this.offsets, -1);
+	}
+
+	/**
+	 * Adds an empty sprite.
+	 *
+	 * @param spriteType
+	 *            Sprite to add.
+	 * @param width
+	 *            Width in pixels, at most MAX_WIDTH.
+	 * @param height
+	 *            Height in pixels.
+	 */
+	void add(final SpriteType spriteType, final int width, final int height) {
+		if (width > MAX_WIDTH) {
+			throw new IllegalArgumentException("Sprite " + spriteType
+					+ " is wider than " + MAX_WIDTH + " pixels.");
+		}
+		this.rows = Arrays.copyOf(this.rows, this.rowCount + height);
+		this.offsets[spriteType.ordinal()] = this.rowCount;
+		this.widths[spriteType.ordinal()] = width;
+		this.heights[spriteType.ordinal()] = height;
+		this.rowCount += height;
+		this.order = Arrays.copyOf(this.order, this.order.length + 1);
+		this.order[this.order.length - 1] = spriteType;
+	}
+
+	/**
+	 * Lights or clears a pixel of a sprite.
+	 *
+	 * @param spriteType
+	 *            Sprite to modify.
+	 * @param x
+	 *            Column of the pixel.
+	 * @param y
+	 *            Row of the pixel.
+	 * @param lit
+	 *            If the pixel is lit.
+	 */
+	void set(final SpriteType spriteType, final int x, final int y,
+			final boolean lit) {
+		int row = this.offsets[spriteType.ordinal()] + y;
+		if (lit) {
+			this.rows[row] |= 1L << x;
+		} else {
+			this.rows[row] &= ~(1L << x);
+		}
+	}
+
+	/**
+	 * Sets all the pixels of a sprite row.
+	 *
+	 * @param spriteType
+	 *            Sprite to modify.
+	 * @param y
+	 *            Row to set.
+	 * @param row
+	 *            Bit mask of the lit pixels of the row.
+	 */
+	void setRow(final SpriteType spriteType, final int y, final long row) {
+		this.rows[this.offsets[spriteType.ordinal()] + y] = row;
+	}
+
+	/**
+	 * Getter for the sprites, in the order they were added.
+	 *
+	 * @return Sprite types. Must not be modified.
+	 */
+	SpriteType[] getSpriteTypes() {
+		return this.order;
+	}
+
+	/**
+	 * Getter for the width of a sprite.
+	 *
+	 * @param spriteType
+	 *            Sprite to measure.
+	 * @return Width in pixels.
+	 */
+	public int getWidth(final SpriteType spriteType) {
+		return this.widths[spriteType.ordinal()];
+	}
+
+	/**
+	 * Getter for the height of a sprite.
+	 *
+	 * @param spriteType
+	 *            Sprite to measure.
+	 * @return Height in pixels.
+	 */
+	public int getHeight(final SpriteType spriteType) {
+		return this.heights[spriteType.ordinal()];
+	}
+
+	/**
+	 * Getter for the array holding the rows of every sprite, for loops that
+	 * go through them directly.
+	 *
+	 * @return Rows of every sprite. Must not be modified.
+	 */
+	long[] getRows() {
+		return this.rows;
+	}
+
+	/**
+	 * Getter for the index of the first row of a sprite in the rows array.
+	 *
+	 * @param spriteType
+	 *            Sprite to look up.
+	 * @return Index of its first row.
+	 */
+	int getOffset(final SpriteType spriteType) {
+		return this.offsets[spriteType.ordinal()];
+	}
+
+	/**
+	 * Getter for a row of a sprite.
+	 *
+	 * @param spriteType
+	 *            Sprite to look up.
+	 * @param y
+	 *            Row to get.
+	 * @return Bit mask of the lit pixels of the row.
+	 */
+	public long getRow(final SpriteType spriteType, final int y) {
+		return this.rows[this.offsets[spriteType.ordinal()] + y];
+	}
+
+	/**
+	 * Checks if two sprites drawn at twice their size overlap on any lit
+	 * pixel. Positions are in screen units, two per sprite pixel, like the
+	 * entity positions.
+	 *
+	 * @param a
+	 *            First sprite.
+	 * @param positionAX
+	 *            Left side of the first sprite.
+	 * @param positionAY
+	 *            Upper side of the first sprite.
+	 * @param b
+	 *            Second sprite.
+	 * @param positionBX
+	 *            Left side of the second sprite.
+	 * @param positionBY
+	 *            Upper side of the second sprite.
+	 * @return True if a lit pixel of each sprite covers the same spot.
+	 */
+	public boolean overlaps(final SpriteType a, final int positionAX,
+			final int positionAY, final SpriteType b, final int positionBX,
+			final int positionBY) {
+		int shift = positionBX - positionAX;
+		if (shift >= this.widths[a.ordinal()] * 2
+				|| -shift >= this.widths[b.ordinal()] * 2) {
+			return false;
+		}
+		int top = Math.max(positionAY, positionBY);
+		int bottom = Math.min(positionAY + this.heights[a.ordinal()] * 2,
+				positionBY + this.heights[b.ordinal()] * 2);
+
+		int offsetA = this.offsets[a.ordinal()];
+		int offsetB = this.offsets[b.ordinal()];
+		for (int y = top; y < bottom; y++) {
+			long rowA = doubleWidth(this.rows[offsetA + (y - positionAY) / 2]);
+			long rowB = doubleWidth(this.rows[offsetB + (y - positionBY) / 2]);
+			if (shift >= 0 ? (rowA & rowB << shift) != 0
+					: (rowA << -shift & rowB) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Stretches a row to twice its width, each bit i becoming bits 2i and
+	 * 2i + 1.
+	 *
+	 * @param row
+	 *            Row of at most 32 pixels.
+	 * @return Stretched row.
+	 */
+	private static long doubleWidth(final long row) {
+		long spread = row & 0xFFFFFFFFL;
+		spread = (spread | spread << 16) & 0x0000FFFF0000FFFFL;
+		spread = (spread | spread << 8) & 0x00FF00FF00FF00FFL;
+		spread = (spread | spread << 4) & 0x0F0F0F0F0F0F0F0FL;
+		spread = (spread | spread << 2) & 0x3333333333333333L;
+		spread = (spread | spread << 1) & 0x5555555555555555L;
+		return spread | spread << 1;
+	}
+
+	/**
+	 * Calculates the memory used by the rows.
+	 *
+	 * @return Bytes used by the rows array.
+	 */
+	long getRowBytes() {
+		return (long) this.rows.length * Long.BYTES;
+	}
+}
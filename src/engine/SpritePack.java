@@ -0,0 +1,146 @@
+package engine;
+
+import engine.DrawManager.SpriteType;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+
+/**
+ * Binary sprite pack, read in one piece at startup. The pack starts with a
+ * header listing every sprite by name, with its size and the index of its
+ * first row, followed by the rows of every sprite as longs, bit i being the
+ * pixel at column i. Sprites are found by name, so their order does not
+ * matter.
+ *
+ * <pre>
+ * int    magic, "SPRT"
+ * short  version
+ * short  number of sprites
+ * for each sprite:
+ *   short  name length, followed by the UTF-8 name
+ *   byte   width
+ *   byte   height
+ *   int    index of the first row
+ * long[] rows
+ * </pre>
+ */
+final class SpritePack {
+
+	/** First bytes of a sprite pack, "SPRT". */
+	private static final int MAGIC = 0x53505254;
+	/** Version of the format written. */
+	static final int VERSION = 1;
+
+	/**
+	 * Constructor, not called.
+	 */
+	private SpritePack() {
+
+	}
+
+	/**
+	 * Reads a sprite pack.
+	 *
+	 * @param buffer
+	 *            Whole contents of the pack.
+	 * @return Sprites of the pack.
+	 * @throws IOException
+	 *             If the pack is not valid or misses a sprite.
+	 */
+	static SpriteMasks read(final ByteBuffer buffer) throws IOException {
+		if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+			throw new IOException("Not a sprite pack.");
+		}
+		int version = buffer.getShort();
+		if (version != VERSION) {
+			throw new IOException("Unsupported sprite pack version "
+					+ version + ".");
+		}
+		int count = buffer.getShort();
+
+		SpriteType[] types = new SpriteType[count];
+		int[] widths = new int[count];
+		int[] heights = new int[count];
+		int[] offsets = new int[count];
+		for (int i = 0; i < count; i++) {
+			byte[] name = new byte[buffer.getShort()];
+			buffer.get(name);
+			try {
+				types[i] = SpriteType.valueOf(new String(name,
+						StandardCharsets.UTF_8));
+			} catch (IllegalArgumentException e) {
+				Core.getLogger().warning("Unknown sprite "
+						+ new String(name, StandardCharsets.UTF_8)
+						+ " in sprite pack.");
+			}
+			widths[i] = buffer.get();
+			heights[i] = buffer.get();
+			offsets[i] = buffer.getInt();
+		}
+
+		EnumSet<SpriteType> missing = EnumSet.allOf(SpriteType.class);
+		for (SpriteType spriteType : types) {
+			if (spriteType != null) {
+				missing.remove(spriteType);
+			}
+		}
+		if (!missing.isEmpty()) {
+			throw new IOException("Sprites " + missing
+					+ " missing from the sprite pack.");
+		}
+
+		int dataStart = buffer.position();
+		SpriteMasks spriteMasks = new SpriteMasks();
+		for (int i = 0; i < count; i++) {
+			if (types[i] == null) {
+				continue;
+			}
+			spriteMasks.add(types[i], widths[i], heights[i]);
+			for (int y = 0; y < heights[i]; y++) {
+				spriteMasks.setRow(types[i], y, buffer.getLong(dataStart
+						+ (offsets[i] + y) * Long.BYTES));
+			}
+		}
+		return spriteMasks;
+	}
+
+	/**
+	 * Writes sprites as a sprite pack.
+	 *
+	 * @param spriteMasks
+	 *            Sprites to write.
+	 * @param outputStream
+	 *            Stream to write to.
+	 * @throws IOException
+	 *             In case of writing problems.
+	 */
+	static void write(final SpriteMasks spriteMasks,
+			final OutputStream outputStream) throws IOException {
+		DataOutputStream output = new DataOutputStream(outputStream);
+		SpriteType[] types = spriteMasks.getSpriteTypes();
+		output.writeInt(MAGIC);
+		output.writeShort(VERSION);
+		output.writeShort(types.length);
+
+		int offset = 0;
+		for (SpriteType spriteType : types) {
+			byte[] name = spriteType.name().getBytes(StandardCharsets.UTF_8);
+			output.writeShort(name.length);
+			output.write(name);
+			output.writeByte(spriteMasks.getWidth(spriteType));
+			output.writeByte(spriteMasks.getHeight(spriteType));
+			output.writeInt(offset);
+			offset += spriteMasks.getHeight(spriteType);
+		}
+		for (SpriteType spriteType : types) {
+			for (int y = 0; y < spriteMasks.getHeight(spriteType); y++) {
+				output.writeLong(spriteMasks.getRow(spriteType, y));
+			}
+		}
+		output.flush();
+	}
+}
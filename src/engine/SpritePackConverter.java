@@ -0,0 +1,95 @@
+package engine;
+
+import engine.DrawManager.SpriteType;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Converts the text sprite file, where each pixel is a '0' or a '1', into a
+ * binary sprite pack. The text file holds no sizes, so they are listed here
+ * in the order the sprites are stored.
+ *
+ * Run with: java engine.SpritePackConverter graphics sprites.pack
+ */
+public final class SpritePackConverter {
+
+	/**
+	 * Constructor, not called.
+	 */
+	private SpritePackConverter() {
+
+	}
+
+	/**
+	 * Converts the sprite file.
+	 *
+	 * @param args
+	 *            Text file to read and pack file to write.
+	 * @throws IOException
+	 *             In case of reading or writing problems.
+	 */
+	public static void main(final String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage: java engine.SpritePackConverter "
+					+ "<text sprites> <sprite pack>");
+			System.exit(1);
+		}
+
+		Map<SpriteType, int[]> sizes = new LinkedHashMap<SpriteType, int[]>();
+		sizes.put(SpriteType.Ship, new int[] { 13, 8 });
+		sizes.put(SpriteType.ShipDestroyed, new int[] { 13, 8 });
+		sizes.put(SpriteType.Bullet, new int[] { 3, 5 });
+		sizes.put(SpriteType.EnemyBullet, new int[] { 3, 5 });
+		sizes.put(SpriteType.EnemyShipA1, new int[] { 12, 8 });
+		sizes.put(SpriteType.EnemyShipA2, new int[] { 12, 8 });
+		sizes.put(SpriteType.EnemyShipB1, new int[] { 12, 8 });
+		sizes.put(SpriteType.EnemyShipB2, new int[] { 12, 8 });
+		sizes.put(SpriteType.EnemyShipC1, new int[] { 12, 8 });
+		sizes.put(SpriteType.EnemyShipC2, new int[] { 12, 8 });
+		sizes.put(SpriteType.EnemyShipSpecial, new int[] { 16, 7 });
+		sizes.put(SpriteType.Explosion, new int[] { 13, 7 });
+
+		SpriteMasks spriteMasks = new SpriteMasks();
+		InputStream inputStream = new BufferedInputStream(
+				new FileInputStream(args[0]));
+		try {
+			for (Map.Entry<SpriteType, int[]> size : sizes.entrySet()) {
+				SpriteType spriteType = size.getKey();
+				spriteMasks.add(spriteType, size.getValue()[0],
+						size.getValue()[1]);
+				// Pixels are stored column by column.
+				for (int i = 0; i < size.getValue()[0]; i++) {
+					for (int j = 0; j < size.getValue()[1]; j++) {
+						int c;
+						do {
+							c = inputStream.read();
+							if (c == -1) {
+								throw new IOException("Sprite file ends in "
+										+ spriteType + ".");
+							}
+						} while (c != '0' && c != '1');
+						spriteMasks.set(spriteType, i, j, c == '1');
+					}
+				}
+			}
+		} finally {
+			inputStream.close();
+		}
+
+		OutputStream outputStream = new FileOutputStream(args[1]);
+		try {
+			SpritePack.write(spriteMasks, outputStream);
+		} finally {
+			outputStream.close();
+		}
+		System.out.println("Packed " + sizes.size() + " sprites into "
+				+ args[1] + ".");
+	}
+}
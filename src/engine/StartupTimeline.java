@@ -0,0 +1,85 @@
+package engine;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records how long each startup step takes, from the start of the
+ * application to the first frame presented, and logs it as a timeline.
+ * Steps may be recorded from any thread.
+ */
+final class StartupTimeline {
+
+	/** Nanoseconds in a millisecond. */
+	private static final double NANOS_PER_MILLI = 1000000.0;
+
+	/** Moment the application started. */
+	private static long origin;
+	/** Steps recorded until now, already formatted. */
+	private static List<String> steps = new ArrayList<String>();
+	/** If the timeline has been logged. */
+	private static boolean finished;
+
+	/**
+	 * Constructor, not called.
+	 */
+	private StartupTimeline() {
+
+	}
+
+	/**
+	 * Marks the start of the application, if it was not marked before.
+	 */
+	static synchronized void start() {
+		if (origin == 0) {
+			origin = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Records a step that has just finished. Steps finishing after the
+	 * first frame, such as loads still running in the background, are
+	 * ignored.
+	 *
+	 * @param name
+	 *            Name of the step.
+	 * @param startTime
+	 *            Moment the step started, from System.nanoTime.
+	 */
+	static synchronized void record(final String name, final long startTime) {
+		if (finished) {
+			return;
+		}
+		start();
+		long endTime = System.nanoTime();
+		steps.add(String.format("  %8.1f ms  %-22s %7.1f ms  (%s)",
+				(endTime - origin) / NANOS_PER_MILLI, name,
+				(endTime - startTime) / NANOS_PER_MILLI,
+				Thread.currentThread().getName()));
+	}
+
+	/**
+	 * Records the first frame presented and logs the whole timeline. Later
+	 * calls do nothing.
+	 */
+	static synchronized void firstFrame() {
+		if (finished) {
+			return;
+		}
+		finished = true;
+		start();
+		long time = System.nanoTime() - origin;
+
+		StringBuilder timeline = new StringBuilder("Startup timeline:");
+		for (String step : steps) {
+			timeline.append(System.lineSeparator()).append(step);
+		}
+		timeline.append(System.lineSeparator()).append(String.format(
+				"  %8.1f ms  first frame, %d ms since the JVM started",
+				time / NANOS_PER_MILLI,
+				ManagementFactory.getRuntimeMXBean().getUptime()));
+		Core.getLogger().info(timeline.toString());
+		steps = null;
+	}
+}
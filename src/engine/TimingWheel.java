@@ -0,0 +1,222 @@
+package engine;
+
+/**
+ * Hierarchical timing wheel holding the running cooldowns. Each level has
+ * 64 slots, the first one of a millisecond each and every next one 64
+ * times longer. Cooldowns are linked into the slot of their deadline, so
+ * scheduling and cancelling take constant time, and advancing the wheel
+ * once per update only visits the slots that time went through, however
+ * many cooldowns are running.
+ */
+final class TimingWheel {
+
+	/** Bits of the time used by each level. */
+	private static final int SLOT_BITS = 6;
+	/** Slots in each level. */
+	private static final int SLOTS = 1 << SLOT_BITS;
+	/** Number of levels, covering about 4.6 hours. */
+	private static final int LEVELS = 4;
+
+	/** First cooldown linked into each slot, level after level. */
+	private final Cooldown[] slots;
+	/** Time the wheel has advanced to, in milliseconds. */
+	private long now;
+	/** Cooldowns scheduled. */
+	private int active;
+	/** Highest number of cooldowns scheduled at once. */
+	private int peak;
+	/** Cooldowns finished by the wheel. */
+	private long fired;
+	/** Cooldowns moved to a lower level. */
+	private long cascaded;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param now
+	 *            Current time of the clock, in milliseconds.
+	 */
+	TimingWheel(final long now) {
+		this.slots = new Cooldown[LEVELS * SLOTS];
+		this.now = now;
+	}
+
+	/**
+	 * Schedules a cooldown to finish at a deadline, replacing its previous
+	 * one. Cooldowns whose deadline has passed finish right away.
+	 *
+	 * @param cooldown
+	 *            Cooldown to schedule.
+	 * @param deadline
+	 *            Time it finishes at, in milliseconds.
+	 */
+	void schedule(final Cooldown cooldown, final long deadline) {
+		cancel(cooldown);
+		if (deadline <= this.now) {
+			cooldown.finish();
+			return;
+		}
+		cooldown.deadline = deadline;
+		link(cooldown);
+		this.active++;
+		this.peak = Math.max(this.peak, this.active);
+	}
+
+	/**
+	 * Removes a cooldown from the wheel, if it is scheduled.
+	 *
+	 * @param cooldown
+	 *            Cooldown to remove.
+	 */
+	void cancel(final Cooldown cooldown) {
+		if (cooldown.slot < 0) {
+			return;
+		}
+		unlink(cooldown);
+		this.active--;
+	}
+
+	/**
+	 * Removes every cooldown from the wheel. They will not finish unless
+	 * reset.
+	 */
+	void cancelAll() {
+		for (int slot = 0; slot < this.slots.length; slot++) {
+			Cooldown cooldown = this.slots[slot];
+			while (cooldown != null) {
+				Cooldown next = cooldown.nextTimer;
+				cooldown.previousTimer = null;
+				cooldown.nextTimer = null;
+				cooldown.slot = -1;
+				cooldown = next;
+			}
+			this.slots[slot] = null;
+		}
+		this.active = 0;
+	}
+
+	/**
+	 * Links a cooldown into the slot of its deadline.
+	 *
+	 * @param cooldown
+	 *            Cooldown to link.
+	 */
+	private void link(final Cooldown cooldown) {
+		long delta = cooldown.deadline - this.now;
+		int level = 0;
+		while (level < LEVELS - 1 && delta >= 1L << SLOT_BITS * (level + 1)) {
+			level++;
+		}
+		int shift = SLOT_BITS * level;
+		long slotTime = cooldown.deadline >>> shift;
+		if (delta >= 1L << SLOT_BITS * LEVELS) {
+			// Beyond the wheel, parked in the last slot to be reached.
+			slotTime = (this.now >>> shift) + SLOTS - 1;
+		}
+		int slot = level * SLOTS + (int) (slotTime & (SLOTS - 1));
+
+		cooldown.slot = slot;
+		cooldown.previousTimer = null;
+		cooldown.nextTimer = this.slots[slot];
+		if (this.slots[slot] != null) {
+			this.slots[slot].previousTimer = cooldown;
+		}
+		this.slots[slot] = cooldown;
+	}
+
+	/**
+	 * Unlinks a cooldown from its slot.
+	 *
+	 * @param cooldown
+	 *            Cooldown to unlink.
+	 */
+	private void unlink(final Cooldown cooldown) {
+		if (cooldown.previousTimer != null) {
+			cooldown.previousTimer.nextTimer = cooldown.nextTimer;
+		} else {
+			this.slots[cooldown.slot] = cooldown.nextTimer;
+		}
+		if (cooldown.nextTimer != null) {
+			cooldown.nextTimer.previousTimer = cooldown.previousTimer;
+		}
+		cooldown.previousTimer = null;
+		cooldown.nextTimer = null;
+		cooldown.slot = -1;
+	}
+
+	/**
+	 * Advances the wheel, finishing every cooldown whose deadline is
+	 * reached.
+	 *
+	 * @param time
+	 *            Current time of the clock, in milliseconds.
+	 */
+	void advance(final long time) {
+		while (this.now < time) {
+			if (this.active == 0) {
+				this.now = time;
+				return;
+			}
+			this.now++;
+			int index = (int) (this.now & (SLOTS - 1));
+			if (index == 0) {
+				for (int level = 1; level < LEVELS; level++) {
+					int levelIndex = (int) (this.now >>> SLOT_BITS * level
+							& (SLOTS - 1));
+					cascade(level * SLOTS + levelIndex);
+					if (levelIndex != 0) {
+						break;
+					}
+				}
+			}
+
+			Cooldown cooldown = this.slots[index];
+			while (cooldown != null) {
+				Cooldown next = cooldown.nextTimer;
+				unlink(cooldown);
+				this.active--;
+				this.fired++;
+				cooldown.finish();
+				cooldown = next;
+			}
+		}
+	}
+
+	/**
+	 * Moves the cooldowns of a slot down to the levels their deadlines
+	 * are now close enough for.
+	 *
+	 * @param slot
+	 *            Slot to empty.
+	 */
+	private void cascade(final int slot) {
+		Cooldown cooldown = this.slots[slot];
+		this.slots[slot] = null;
+		while (cooldown != null) {
+			Cooldown next = cooldown.nextTimer;
+			link(cooldown);
+			this.cascaded++;
+			cooldown = next;
+		}
+	}
+
+	/**
+	 * Getter for the number of timers scheduled.
+	 *
+	 * @return Timers waiting to finish.
+	 */
+	int getActiveCount() {
+		return this.active;
+	}
+
+	/**
+	 * Summarizes the use of the wheel.
+	 *
+	 * @return Timer statistics.
+	 */
+	String getStatistics() {
+		return String.format("Timers: %d active, peak %d, %d fired, "
+				+ "%d cascaded.", this.active, this.peak, this.fired,
+				this.cascaded);
+	}
+}
@@ -1,6 +1,6 @@
 package entity;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -12,7 +12,7 @@ import java.util.Set;
 public final class BulletPool {
 
 	/** Set of already created bullets. */
-	private static Set<Bullet> pool = new HashSet<Bullet>();
+	private static Set<Bullet> pool = new LinkedHashSet<Bullet>();
 
 	/**
 	 * Constructor, not called.
@@ -49,6 +49,7 @@ public final class BulletPool {
 			bullet = new Bullet(positionX, positionY, speed);
 			bullet.setPositionX(positionX - bullet.getWidth() / 2);
 		}
+		bullet.savePosition();
 		return bullet;
 	}
 
@@ -1,8 +1,7 @@
 package entity;
 
-import engine.Cooldown;
-import engine.Core;
 import engine.DrawManager.SpriteType;
+import engine.SpriteAnimation;
 
 import java.awt.*;
 
@@ -23,8 +22,8 @@ public class EnemyShip extends Entity {
 	/** Point value of a bonus enemy. */
 	private static final int BONUS_TYPE_POINTS = 100;
 
-	/** Cooldown between sprite changes. */
-	private Cooldown animationCooldown;
+	/** Animation shared with the rest of the formation, null if still. */
+	private SpriteAnimation animation;
 	/** Checks if the ship has been hit by a bullet. */
 	private boolean isDestroyed;
 	/** Values of the ship, in points, when destroyed. */
@@ -42,10 +41,29 @@ public class EnemyShip extends Entity {
 	 */
 	public EnemyShip(final int positionX, final int positionY,
 			final SpriteType spriteType) {
+		this(positionX, positionY, spriteType, null);
+	}
+
+	/**
+	 * Constructor, establishes the ship's properties and the animation it
+	 * follows.
+	 * 
+	 * @param positionX
+	 *            Initial position of the ship in the X axis.
+	 * @param positionY
+	 *            Initial position of the ship in the Y axis.
+	 * @param spriteType
+	 *            Sprite type, image corresponding to the ship.
+	 * @param animation
+	 *            Animation choosing the frame of the sprite, null to keep it
+	 *            still.
+	 */
+	public EnemyShip(final int positionX, final int positionY,
+			final SpriteType spriteType, final SpriteAnimation animation) {
 		super(positionX, positionY, 12 * 2, 8 * 2, Color.WHITE);
 
 		this.spriteType = spriteType;
-		this.animationCooldown = Core.getCooldown(500);
+		this.animation = animation;
 		this.isDestroyed = false;
 
 		switch (this.spriteType) {
@@ -102,35 +120,17 @@ public class EnemyShip extends Entity {
 	}
 
 	/**
-	 * Updates attributes, mainly used for animation purposes.
+	 * Getter for the sprite that the ship will be drawn as, the current
+	 * frame of its animation.
+	 * 
+	 * @return Sprite corresponding to the ship.
 	 */
-	public final void update() {
-		if (this.animationCooldown.checkFinished()) {
-			this.animationCooldown.reset();
-
-			switch (this.spriteType) {
-			case EnemyShipA1:
-				this.spriteType = SpriteType.EnemyShipA2;
-				break;
-			case EnemyShipA2:
-				this.spriteType = SpriteType.EnemyShipA1;
-				break;
-			case EnemyShipB1:
-				this.spriteType = SpriteType.EnemyShipB2;
-				break;
-			case EnemyShipB2:
-				this.spriteType = SpriteType.EnemyShipB1;
-				break;
-			case EnemyShipC1:
-				this.spriteType = SpriteType.EnemyShipC2;
-				break;
-			case EnemyShipC2:
-				this.spriteType = SpriteType.EnemyShipC1;
-				break;
-			default:
-				break;
-			}
+	@Override
+	public final SpriteType getSpriteType() {
+		if (this.animation == null) {
+			return this.spriteType;
 		}
+		return this.animation.getFrame(this.spriteType);
 	}
 
 	/**
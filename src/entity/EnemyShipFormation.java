@@ -5,6 +5,7 @@ import engine.Core;
 import engine.DrawManager;
 import engine.DrawManager.SpriteType;
 import engine.GameSettings;
+import engine.SpriteAnimation;
 import screen.Screen;
 
 import java.util.*;
@@ -44,6 +45,8 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	private static final int DESCENT_DISTANCE = 20;
 	/** Minimum speed allowed. */
 	private static final int MINIMUM_SPEED = 10;
+	/** Updates between animation frames, 500 ms at 60 updates a second. */
+	private static final int ANIMATION_INTERVAL = 30;
 
 	/** DrawManager instance. */
 	private DrawManager drawManager;
@@ -56,6 +59,8 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	private List<List<EnemyShip>> enemyShips;
 	/** Minimum time between shots. */
 	private Cooldown shootingCooldown;
+	/** Animation followed by every ship of the formation. */
+	private SpriteAnimation animation;
 	/** Number of ships in the formation - horizontally. */
 	private int nShipsWide;
 	/** Number of ships in the formation - vertically. */
@@ -123,6 +128,7 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 		this.positionX = INIT_POS_X;
 		this.positionY = INIT_POS_Y;
 		this.shooters = new ArrayList<EnemyShip>();
+		this.animation = new SpriteAnimation(ANIMATION_INTERVAL);
 		SpriteType spriteType;
 
 		this.logger.info("Initializing " + nShipsWide + "x" + nShipsHigh
@@ -149,7 +155,7 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 				column.add(new EnemyShip((SEPARATION_DISTANCE 
 						* this.enemyShips.indexOf(column))
 								+ positionX, (SEPARATION_DISTANCE * i)
-								+ positionY, spriteType));
+								+ positionY, spriteType, this.animation));
 				this.shipCount++;
 			}
 		}
@@ -181,10 +187,34 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	 * Draws every individual component of the formation.
 	 */
 	public final void draw() {
+		draw(1f);
+	}
+
+	/**
+	 * Draws every individual component of the formation between their
+	 * positions before and after the last update.
+	 * 
+	 * @param alpha
+	 *            Progress from the previous positions, 0, to the current
+	 *            ones, 1.
+	 */
+	public final void draw(final float alpha) {
+		for (List<EnemyShip> column : this.enemyShips) {
+			for (EnemyShip enemyShip : column) {
+				drawManager.drawEntity(enemyShip,
+						enemyShip.getInterpolatedPositionX(alpha),
+						enemyShip.getInterpolatedPositionY(alpha));
+			}
+		}
+	}
+
+	/**
+	 * Remembers the position of every ship before an update.
+	 */
+	public final void savePositions() {
 		for (List<EnemyShip> column : this.enemyShips) {
 			for (EnemyShip enemyShip : column) {
-				drawManager.drawEntity(enemyShip, enemyShip.getPositionX(),
-						enemyShip.getPositionY());
+				enemyShip.savePosition();
 			}
 		}
 	}
@@ -200,6 +230,7 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 		}
 		
 		cleanUp();
+		this.animation.tick();
 
 		int movementX = 0;
 		int movementY = 0;
@@ -287,7 +318,6 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 			for (List<EnemyShip> column : this.enemyShips) {
 				for (EnemyShip enemyShip : column) {
 					enemyShip.move(movementX, movementY);
-					enemyShip.update();
 				}
 			}
 		}
@@ -346,7 +376,7 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	 */
 	public final void shoot(final Set<Bullet> bullets) {
 		// For now, only ships in the bottom row are able to shoot.
-		int index = (int) (Math.random() * this.shooters.size());
+		int index = Core.getRandom().nextInt(this.shooters.size());
 		EnemyShip shooter = this.shooters.get(index);
 
 		if (this.shootingCooldown.checkFinished()) {
@@ -428,7 +458,7 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	 */
 	@Override
 	public final Iterator<EnemyShip> iterator() {
-		Set<EnemyShip> enemyShipsList = new HashSet<EnemyShip>();
+		Set<EnemyShip> enemyShipsList = new LinkedHashSet<EnemyShip>();
 
 		for (List<EnemyShip> column : this.enemyShips) {
 			for (EnemyShip enemyShip : column) {
@@ -16,6 +16,10 @@ public class Entity {
 	protected int positionX;
 	/** Position in the y-axis of the upper left corner of the entity. */
 	protected int positionY;
+	/** Position in the x-axis at the start of the last update. */
+	private int previousPositionX;
+	/** Position in the y-axis at the start of the last update. */
+	private int previousPositionY;
 	/** Width of the entity. */
 	protected int width;
 	/** Height of the entity. */
@@ -43,6 +47,8 @@ public class Entity {
 			final int height, final Color color) {
 		this.positionX = positionX;
 		this.positionY = positionY;
+		this.previousPositionX = positionX;
+		this.previousPositionY = positionY;
 		this.width = width;
 		this.height = height;
 		this.color = color;
@@ -95,12 +101,49 @@ public class Entity {
 		this.positionY = positionY;
 	}
 
+	/**
+	 * Remembers the current position as the one the entity had before the
+	 * update, so drawings between updates can be interpolated.
+	 */
+	public final void savePosition() {
+		this.previousPositionX = this.positionX;
+		this.previousPositionY = this.positionY;
+	}
+
+	/**
+	 * Getter for the X axis position of the entity between the last two
+	 * updates.
+	 * 
+	 * @param alpha
+	 *            Progress from the previous position, 0, to the current
+	 *            one, 1.
+	 * @return Interpolated position of the entity in the X axis.
+	 */
+	public final int getInterpolatedPositionX(final float alpha) {
+		return this.previousPositionX
+				+ Math.round((this.positionX - this.previousPositionX) * alpha);
+	}
+
+	/**
+	 * Getter for the Y axis position of the entity between the last two
+	 * updates.
+	 * 
+	 * @param alpha
+	 *            Progress from the previous position, 0, to the current
+	 *            one, 1.
+	 * @return Interpolated position of the entity in the Y axis.
+	 */
+	public final int getInterpolatedPositionY(final float alpha) {
+		return this.previousPositionY
+				+ Math.round((this.positionY - this.previousPositionY) * alpha);
+	}
+
 	/**
 	 * Getter for the sprite that the entity will be drawn as.
 	 * 
 	 * @return Sprite corresponding to the entity.
 	 */
-	public final SpriteType getSpriteType() {
+	public SpriteType getSpriteType() {
 		return this.spriteType;
 	}
 
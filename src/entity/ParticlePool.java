@@ -0,0 +1,299 @@
+package entity;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Fixed capacity pool of effect particles, such as explosion debris, muzzle
+ * flashes and bullet impacts. Particles are kept in parallel primitive
+ * arrays, packed at the front, so spawning, updating and drawing them
+ * allocates nothing. Positions are in screen units.
+ */
+public final class ParticlePool {
+
+	/** Capacity used when no stress test asks for more. */
+	public static final int DEFAULT_CAPACITY = 2048;
+	/** Downwards acceleration of the debris, per update. */
+	private static final float GRAVITY = 0.04f;
+	/** Particles thrown by an explosion. */
+	private static final int EXPLOSION_PARTICLES = 24;
+	/** Maximum speed of the explosion debris. */
+	private static final float EXPLOSION_SPEED = 2.5f;
+	/** Updates the explosion debris lasts at least. */
+	private static final int EXPLOSION_LIFETIME = 24;
+	/** Particles of a muzzle flash. */
+	private static final int FLASH_PARTICLES = 6;
+	/** Updates a muzzle flash lasts. */
+	private static final int FLASH_LIFETIME = 6;
+	/** Particles of a bullet impact. */
+	private static final int IMPACT_PARTICLES = 8;
+	/** Updates a bullet impact lasts at least. */
+	private static final int IMPACT_LIFETIME = 10;
+
+	/** Position of each particle in the x-axis. */
+	private final float[] positionsX;
+	/** Position of each particle in the y-axis. */
+	private final float[] positionsY;
+	/** Speed of each particle in the x-axis. */
+	private final float[] speedsX;
+	/** Speed of each particle in the y-axis. */
+	private final float[] speedsY;
+	/** Updates left for each particle. */
+	private final int[] lifetimes;
+	/** Index of the color of each particle in the palette. */
+	private final int[] colorIndexes;
+	/** Colors the particles have been spawned with. */
+	private Color[] palette;
+	/** Number of live particles, at the front of the arrays. */
+	private int size;
+	/** Highest number of live particles. */
+	private int peak;
+	/** Particles not spawned because the pool was full. */
+	private long dropped;
+	/** Source of the particle directions. */
+	private final Random random;
+
+	/**
+	 * Constructor, allocates the whole pool.
+	 *
+	 * @param capacity
+	 *            Maximum number of live particles.
+	 */
+	public ParticlePool(final int capacity) {
+		this.positionsX = new float[capacity];
+		this.positionsY = new float[capacity];
+		this.speedsX = new float[capacity];
+		this.speedsY = new float[capacity];
+		this.lifetimes = new int[capacity];
+		this.colorIndexes = new int[capacity];
+		this.palette = new Color[0];
+		this.random = new Random();
+	}
+
+	/**
+	 * Spawns a particle, if there is room for it.
+	 *
+	 * @param positionX
+	 *            Position in the x-axis.
+	 * @param positionY
+	 *            Position in the y-axis.
+	 * @param speedX
+	 *            Speed in the x-axis, per update.
+	 * @param speedY
+	 *            Speed in the y-axis, per update.
+	 * @param lifetime
+	 *            Updates the particle lasts.
+	 * @param color
+	 *            Color of the particle.
+	 */
+	public void spawn(final float positionX, final float positionY,
+			final float speedX, final float speedY, final int lifetime,
+			final Color color) {
+		if (this.size == this.lifetimes.length) {
+			this.dropped++;
+			return;
+		}
+		this.positionsX[this.size] = positionX;
+		this.positionsY[this.size] = positionY;
+		this.speedsX[this.size] = speedX;
+		this.speedsY[this.size] = speedY;
+		this.lifetimes[this.size] = lifetime;
+		this.colorIndexes[this.size] = colorIndex(color);
+		this.size++;
+		this.peak = Math.max(this.peak, this.size);
+	}
+
+	/**
+	 * Finds the palette index of a color, adding it if it is new.
+	 *
+	 * @param color
+	 *            Color to look up.
+	 * @return Index of the color in the palette.
+	 */
+	private int colorIndex(final Color color) {
+		for (int i = 0; i < this.palette.length; i++) {
+			if (this.palette[i].equals(color)) {
+				return i;
+			}
+		}
+		this.palette = Arrays.copyOf(this.palette, this.palette.length + 1);
+		this.palette[this.palette.length - 1] = color;
+		return this.palette.length - 1;
+	}
+
+	/**
+	 * Spawns particles flying away from a point in every direction.
+	 *
+	 * @param positionX
+	 *            Center of the burst in the x-axis.
+	 * @param positionY
+	 *            Center of the burst in the y-axis.
+	 * @param count
+	 *            Number of particles.
+	 * @param speed
+	 *            Maximum speed of the particles.
+	 * @param lifetime
+	 *            Minimum updates the particles last, up to twice as many.
+	 * @param color
+	 *            Color of the particles.
+	 */
+	private void spawnBurst(final int positionX, final int positionY,
+			final int count, final float speed, final int lifetime,
+			final Color color) {
+		for (int i = 0; i < count; i++) {
+			double angle = this.random.nextDouble() * Math.PI * 2;
+			float particleSpeed = this.random.nextFloat() * speed;
+			spawn(positionX, positionY,
+					(float) Math.cos(angle) * particleSpeed,
+					(float) Math.sin(angle) * particleSpeed,
+					lifetime + this.random.nextInt(lifetime), color);
+		}
+	}
+
+	/**
+	 * Spawns the debris of a destroyed ship.
+	 *
+	 * @param entity
+	 *            Ship destroyed.
+	 */
+	public void spawnExplosion(final Entity entity) {
+		spawnBurst(entity.getPositionX() + entity.getWidth() / 2,
+				entity.getPositionY() + entity.getHeight() / 2,
+				EXPLOSION_PARTICLES, EXPLOSION_SPEED, EXPLOSION_LIFETIME,
+				entity.getColor());
+	}
+
+	/**
+	 * Spawns the flash of a shot, going up from the top of the ship.
+	 *
+	 * @param entity
+	 *            Ship shooting.
+	 */
+	public void spawnMuzzleFlash(final Entity entity) {
+		int positionX = entity.getPositionX() + entity.getWidth() / 2;
+		for (int i = 0; i < FLASH_PARTICLES; i++) {
+			spawn(positionX, entity.getPositionY(),
+					this.random.nextFloat() * 2 - 1,
+					-1 - this.random.nextFloat() * 2, FLASH_LIFETIME,
+					Color.WHITE);
+		}
+	}
+
+	/**
+	 * Spawns the sparks of a bullet hitting something.
+	 *
+	 * @param bullet
+	 *            Bullet hitting.
+	 */
+	public void spawnImpact(final Bullet bullet) {
+		spawnBurst(bullet.getPositionX() + bullet.getWidth() / 2,
+				bullet.getPositionY(), IMPACT_PARTICLES, 1.5f,
+				IMPACT_LIFETIME, bullet.getColor());
+	}
+
+	/**
+	 * Spawns explosions at random spots until the pool holds a number of
+	 * particles, for stress testing.
+	 *
+	 * @param target
+	 *            Number of live particles wanted.
+	 * @param width
+	 *            Width of the area to spawn in.
+	 * @param height
+	 *            Height of the area to spawn in.
+	 */
+	public void fillRandomly(final int target, final int width,
+			final int height) {
+		int wanted = Math.min(target, this.lifetimes.length);
+		while (this.size < wanted) {
+			spawnBurst(this.random.nextInt(width),
+					this.random.nextInt(height),
+					Math.min(EXPLOSION_PARTICLES, wanted - this.size),
+					EXPLOSION_SPEED, EXPLOSION_LIFETIME, Color.WHITE);
+		}
+	}
+
+	/**
+	 * Moves the particles and removes the ones that ran out of time,
+	 * filling their place with the last particle.
+	 */
+	public void update() {
+		int i = 0;
+		while (i < this.size) {
+			if (--this.lifetimes[i] <= 0) {
+				int last = --this.size;
+				this.positionsX[i] = this.positionsX[last];
+				this.positionsY[i] = this.positionsY[last];
+				this.speedsX[i] = this.speedsX[last];
+				this.speedsY[i] = this.speedsY[last];
+				this.lifetimes[i] = this.lifetimes[last];
+				this.colorIndexes[i] = this.colorIndexes[last];
+				continue;
+			}
+			this.positionsX[i] += this.speedsX[i];
+			this.positionsY[i] += this.speedsY[i];
+			this.speedsY[i] += GRAVITY;
+			i++;
+		}
+	}
+
+	/**
+	 * Removes every particle.
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	/**
+	 * Getter for the number of live particles.
+	 *
+	 * @return Live particles.
+	 */
+	public int getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Getter for the position of a particle in the x-axis.
+	 *
+	 * @param index
+	 *            Particle, below getSize.
+	 * @return Position in the x-axis.
+	 */
+	public int getPositionX(final int index) {
+		return (int) this.positionsX[index];
+	}
+
+	/**
+	 * Getter for the position of a particle in the y-axis.
+	 *
+	 * @param index
+	 *            Particle, below getSize.
+	 * @return Position in the y-axis.
+	 */
+	public int getPositionY(final int index) {
+		return (int) this.positionsY[index];
+	}
+
+	/**
+	 * Getter for the color of a particle.
+	 *
+	 * @param index
+	 *            Particle, below getSize.
+	 * @return Color of the particle.
+	 */
+	public Color getColor(final int index) {
+		return this.palette[this.colorIndexes[index]];
+	}
+
+	/**
+	 * Summarizes the use of the pool.
+	 *
+	 * @return Pool statistics.
+	 */
+	public String getStatistics() {
+		return String.format("Particles: capacity %d, peak %d, dropped %d.",
+				this.lifetimes.length, this.peak, this.dropped);
+	}
+}
@@ -2,13 +2,16 @@ package screen;
 
 import engine.Cooldown;
 import engine.Core;
+import engine.DrawManager.Layer;
 import engine.GameSettings;
 import engine.GameState;
+import engine.PhaseProfiler;
+import engine.PhaseProfiler.Phase;
 import entity.*;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -47,6 +50,8 @@ public class GameScreen extends Screen {
 	 * Height of the interface separation line.
 	 */
 	private static final int SEPARATION_LINE_HEIGHT = 40;
+	/** Milliseconds between two dumps of the phase profile. */
+	private static final int PROFILE_DUMP_DELAY = 1000;
 
 
 	/**
@@ -124,6 +129,14 @@ public class GameScreen extends Screen {
 
 	private int gamemode;
 	private Color color, color2;
+	/** Explosion debris, muzzle flashes and bullet impacts. */
+	private ParticlePool particles;
+	/** Particles kept alive for stress testing, 0 for none. */
+	private int particleStress;
+	/** Times the phases of the update. */
+	private PhaseProfiler profiler;
+	/** Time between two dumps of the phase profile. */
+	private Cooldown profileDumpDelay;
 
 
 	/**
@@ -216,11 +229,16 @@ public class GameScreen extends Screen {
 		this.enemyShipSpecialCooldown.reset();
 		this.enemyShipSpecialExplosionCooldown = Core.getCooldown(BONUS_SHIP_EXPLOSION);
 		this.screenFinishedCooldown = Core.getCooldown(SCREEN_CHANGE_INTERVAL);
-		this.bullets = new HashSet<Bullet>();
-		this.bullets2 = new HashSet<Bullet>();
+		this.bullets = new LinkedHashSet<Bullet>();
+		this.bullets2 = new LinkedHashSet<Bullet>();
+		this.profiler = Core.getProfiler();
+		this.profileDumpDelay = Core.getCooldown(PROFILE_DUMP_DELAY);
+		this.particleStress = Core.getParticleStress();
+		this.particles = new ParticlePool(Math.max(
+				ParticlePool.DEFAULT_CAPACITY, this.particleStress));
 
 		// Special input delay / countdown.
-		this.gameStartTime = System.currentTimeMillis();
+		this.gameStartTime = Core.getClock().getMillis();
 		this.inputDelay = Core.getCooldown(INPUT_DELAY);
 		this.inputDelay.reset();
 	}
@@ -235,6 +253,7 @@ public class GameScreen extends Screen {
 
 		this.score += LIFE_SCORE * (this.lives - 1);
 		this.logger.info("Screen cleared with a score of " + this.score);
+		this.logger.info(this.particles.getStatistics());
 		if(gamemode==1){
 			this.score2 += LIFE_SCORE * (this.lives2 - 1);
 			this.logger.info("Screen cleared with a score of " + this.score2);
@@ -249,6 +268,17 @@ public class GameScreen extends Screen {
 	protected final void update() {
 		super.update();
 
+		// The dump is left out of every phase, so it does not show in them.
+		if (inputManager.isKeyDown(KeyEvent.VK_F3)
+				&& this.profileDumpDelay.checkFinished()) {
+			this.profileDumpDelay.reset();
+			this.logger.info(this.profiler.dump());
+		}
+
+		long updateStart = this.profiler.start();
+		savePositions();
+		long phaseStart = this.profiler.start();
+
 		// pause button
 		boolean pauseBtn = inputManager.isKeyDown(KeyEvent.VK_ESCAPE);
 		if(pauseBtn && this.pauseDelay.checkFinished()){
@@ -289,6 +319,7 @@ public class GameScreen extends Screen {
 						if (inputManager.isKeyDown(KeyEvent.VK_SPACE) || inputManager.isKeyDown(KeyEvent.VK_W) || inputManager.isKeyDown(KeyEvent.VK_UP)) {
 							if (this.ship.shoot(this.bullets)) {
 								this.bulletsShot++;
+								this.particles.spawnMuzzleFlash(this.ship);
 							}
 						}
 					}
@@ -311,6 +342,7 @@ public class GameScreen extends Screen {
 						if (inputManager.isKeyDown(KeyEvent.VK_SPACE) || inputManager.isKeyDown(KeyEvent.VK_UP)) {
 							if (this.ship.shoot(this.bullets)) {
 								this.bulletsShot++;
+								this.particles.spawnMuzzleFlash(this.ship);
 							}
 						}
 					}
@@ -329,12 +361,15 @@ public class GameScreen extends Screen {
 						if (inputManager.isKeyDown(KeyEvent.VK_W)) {
 							if (this.ship2.shoot(this.bullets2)) {
 								this.bulletsShot2++;
+								this.particles.spawnMuzzleFlash(this.ship2);
 							}
 						}
 					}
 				}
 
 
+				phaseStart = this.profiler.end(Phase.INPUT, phaseStart);
+
 				if (this.enemyShipSpecial != null) {
 					if (!this.enemyShipSpecial.isDestroyed()) {
 						this.enemyShipSpecial.move(2, 0);
@@ -355,6 +390,7 @@ public class GameScreen extends Screen {
 					this.enemyShipSpecial = null;
 					this.logger.info("The special ship has escaped");
 				}
+				phaseStart = this.profiler.end(Phase.SPECIAL_SHIP, phaseStart);
 
 				this.ship.update();
 
@@ -363,12 +399,31 @@ public class GameScreen extends Screen {
 				}
 
 				this.enemyShipFormation.update();
+				phaseStart = this.profiler.end(Phase.FORMATION, phaseStart);
 				this.enemyShipFormation.shoot(this.bullets);
+				phaseStart = this.profiler.end(Phase.SHOOT, phaseStart);
+			} else {
+				// Countdown or level over, only the pause keys were read.
+				// The phases that did not run are left out of the profile.
+				phaseStart = this.profiler.end(Phase.INPUT, phaseStart);
 			}
 			manageCollisions();
+			phaseStart = this.profiler.end(Phase.COLLISIONS, phaseStart);
 			cleanBullets();
+			phaseStart = this.profiler.end(Phase.CLEANUP, phaseStart);
+			if (this.particleStress > 0) {
+				this.particles.fillRandomly(this.particleStress, this.width,
+						this.height);
+			}
+			this.particles.update();
+			phaseStart = this.profiler.end(Phase.EFFECTS, phaseStart);
+		} else {
+			phaseStart = this.profiler.end(Phase.INPUT, phaseStart);
+		}
+		if (this.drawOnUpdate) {
+			draw(1f);
+			this.profiler.end(Phase.DRAW, phaseStart);
 		}
-		draw();
 		if(this.lives <= 0){
 			this.lives = 0;
 		}
@@ -386,44 +441,104 @@ public class GameScreen extends Screen {
 				this.isRunning = false;
 			}
 		}
+		this.profiler.end(Phase.UPDATE, updateStart);
+	}
+
+	/**
+	 * Remembers the position of every entity before an update, so drawings
+	 * between updates can be interpolated.
+	 */
+	private void savePositions() {
+		this.ship.savePosition();
+		if (this.ship2 != null) {
+			this.ship2.savePosition();
+		}
+		if (this.enemyShipSpecial != null) {
+			this.enemyShipSpecial.savePosition();
+		}
+		this.enemyShipFormation.savePositions();
+		for (Bullet bullet : this.bullets) {
+			bullet.savePosition();
+		}
+		for (Bullet bullet : this.bullets2) {
+			bullet.savePosition();
+		}
+	}
+
+	/**
+	 * Draws the screen between two updates.
+	 *
+	 * @param alpha
+	 *            Progress from the last update to the next one.
+	 */
+	@Override
+	protected final void render(final float alpha) {
+		long drawStart = this.profiler.start();
+		draw(alpha);
+		this.profiler.end(Phase.DRAW, drawStart);
+	}
+
+	/**
+	 * Checks if the screen can be drawn between updates.
+	 *
+	 * @return True, entity positions are interpolated.
+	 */
+	@Override
+	protected final boolean canInterpolate() {
+		return true;
+	}
+
+	/**
+	 * Checks if the screen follows the frame budget.
+	 *
+	 * @return True, frames are skipped or drop their effects under load.
+	 */
+	@Override
+	protected final boolean usesFrameBudget() {
+		return true;
 	}
 
 	/**
 	 * Draws the elements associated with the screen.
+	 *
+	 * @param alpha
+	 *            Progress of the entities from their positions before the
+	 *            last update, 0, to their current ones, 1.
 	 */
-	private void draw() {
-		drawManager.initDrawing(this);
+	private void draw(final float alpha) {
+		drawManager.initDrawing(this, true);
+		drawManager.beginBatch();
 
 		if(gamemode == 0){ // 1인용 게임인 경우
-			drawManager.drawEntity(this.ship, this.ship.getPositionX(),
-					this.ship.getPositionY());
+			drawEntity(this.ship, alpha, Layer.ENTITIES);
 		}
 
 		else if(gamemode == 1){ // 2인용 게임인 경우
 			if(lives>0 || this.ship.isDestroyed()){
-				drawManager.drawEntity(this.ship, this.ship.getPositionX(), this.ship.getPositionY());
+				drawEntity(this.ship, alpha, Layer.ENTITIES);
 			}
 			if(lives2>0 || this.ship2.isDestroyed()){
-				drawManager.drawEntity(this.ship2, this.ship2.getPositionX(), this.ship2.getPositionY());
+				drawEntity(this.ship2, alpha, Layer.ENTITIES);
 			}
 		}
 
 
 		if (this.enemyShipSpecial != null) {
-			drawManager.drawEntity(this.enemyShipSpecial,
-					this.enemyShipSpecial.getPositionX(),
-					this.enemyShipSpecial.getPositionY());
+			drawEntity(this.enemyShipSpecial, alpha, Layer.ENTITIES);
 		}
 
-		enemyShipFormation.draw();
+		enemyShipFormation.draw(alpha);
 
+		// Bullets stay in front of the ships they pass over.
 		for (Bullet bullet : this.bullets) {
-			drawManager.drawEntity(bullet, bullet.getPositionX(),
-					bullet.getPositionY());
+			drawEntity(bullet, alpha, Layer.EFFECTS);
 		}
 		for (Bullet bullet : this.bullets2) {
-			drawManager.drawEntity(bullet, bullet.getPositionX(),
-					bullet.getPositionY());
+			drawEntity(bullet, alpha, Layer.EFFECTS);
+		}
+		drawManager.flushBatch();
+		if (!this.frameBudget.dropsEffects()) {
+			drawManager.drawParticles(this.particles);
 		}
 
 		// Interface.
@@ -440,7 +555,7 @@ public class GameScreen extends Screen {
 		// Countdown to game start.
 		if (!this.inputDelay.checkFinished()) {
 			int countdown = (int) ((INPUT_DELAY
-					- (System.currentTimeMillis()
+					- (Core.getClock().getMillis()
 					- this.gameStartTime)) / 1000);
 			drawManager.drawCountDown(this, this.level, countdown,
 					this.bonusLife);
@@ -457,12 +572,29 @@ public class GameScreen extends Screen {
 		drawManager.completeDrawing(this);
 	}
 
+	/**
+	 * Draws an entity between its positions before and after the last
+	 * update.
+	 *
+	 * @param entity
+	 *            Entity to draw.
+	 * @param alpha
+	 *            Progress from the previous position to the current one.
+	 * @param layer
+	 *            Layer the entity is drawn on.
+	 */
+	private void drawEntity(final Entity entity, final float alpha,
+			final Layer layer) {
+		drawManager.drawEntity(entity, entity.getInterpolatedPositionX(alpha),
+				entity.getInterpolatedPositionY(alpha), layer);
+	}
+
 	/**
 	 * Cleans bullets that go off screen.
 	 */
 
 	private void cleanBullets() {
-		Set<Bullet> recyclable = new HashSet<Bullet>();
+		Set<Bullet> recyclable = new LinkedHashSet<Bullet>();
 		for (Bullet bullet : this.bullets) {
 			bullet.update();
 			if (bullet.getPositionY() < SEPARATION_LINE_HEIGHT
@@ -473,7 +605,7 @@ public class GameScreen extends Screen {
 		this.bullets.removeAll(recyclable);
 		BulletPool.recycle(recyclable);
 
-		recyclable = new HashSet<Bullet>();
+		recyclable = new LinkedHashSet<Bullet>();
 		for (Bullet bullet : this.bullets2) {
 			bullet.update();
 			if (bullet.getPositionY() < SEPARATION_LINE_HEIGHT
@@ -490,15 +622,17 @@ public class GameScreen extends Screen {
 	 */
 
 	private void manageCollisions() {
-		Set<Bullet> recyclable = new HashSet<Bullet>();
+		Set<Bullet> recyclable = new LinkedHashSet<Bullet>();
 		for (Bullet bullet : this.bullets) {
 			if (bullet.getSpeed() > 0) {
 
 				if (gamemode == 0) { // 1인용 게임인 경우
 					if (checkCollision(bullet, this.ship) && !this.levelFinished) {
 						recyclable.add(bullet);
+						this.particles.spawnImpact(bullet);
 						if (!this.ship.isDestroyed()) {
 							this.ship.destroy();
+							this.particles.spawnExplosion(this.ship);
 							this.lives--;
 							this.logger.info("Hit on player ship, " + this.lives
 									+ " lives remaining.");
@@ -509,8 +643,10 @@ public class GameScreen extends Screen {
 				if (gamemode == 1) { // 2인용 게임인 경우
 					if (checkCollision(bullet, this.ship) && !this.levelFinished) {
 						recyclable.add(bullet);
+						this.particles.spawnImpact(bullet);
 						if (!this.ship.isDestroyed() && this.lives > 0) {
 							this.ship.destroy();
+							this.particles.spawnExplosion(this.ship);
 							this.lives--;
 							this.logger.info("Hit on player ship, " + this.lives
 									+ " lives remaining.");
@@ -519,8 +655,10 @@ public class GameScreen extends Screen {
 
 					if (checkCollision(bullet, this.ship2) && !this.levelFinished) {
 						recyclable.add(bullet);
+						this.particles.spawnImpact(bullet);
 						if (!this.ship2.isDestroyed() && this.lives2 > 0) {
 							this.ship2.destroy();
+							this.particles.spawnExplosion(this.ship2);
 							this.lives2--;
 							this.logger.info("Hit on player ship2, " + this.lives
 									+ " lives remaining.");
@@ -535,6 +673,7 @@ public class GameScreen extends Screen {
 						this.score += enemyShip.getPointValue();
 						this.shipsDestroyed++;
 						this.enemyShipFormation.destroy(enemyShip);
+						this.particles.spawnExplosion(enemyShip);
 						recyclable.add(bullet);
 					}
 				}
@@ -543,6 +682,7 @@ public class GameScreen extends Screen {
 					this.score += this.enemyShipSpecial.getPointValue();
 					this.shipsDestroyed++;
 					this.enemyShipSpecial.destroy();
+					this.particles.spawnExplosion(this.enemyShipSpecial);
 					this.enemyShipSpecialExplosionCooldown.reset();
 					recyclable.add(bullet);
 				}
@@ -551,13 +691,14 @@ public class GameScreen extends Screen {
 		this.bullets.removeAll(recyclable);
 		BulletPool.recycle(recyclable);
 
-		recyclable = new HashSet<Bullet>();
+		recyclable = new LinkedHashSet<Bullet>();
 		for(Bullet bullet : this.bullets2){
 			for (EnemyShip enemyShip : this.enemyShipFormation) {
 				if (!enemyShip.isDestroyed() && checkCollision(bullet, enemyShip)) {
 					this.score2 += enemyShip.getPointValue();
 					this.shipsDestroyed2++;
 					this.enemyShipFormation.destroy(enemyShip);
+					this.particles.spawnExplosion(enemyShip);
 					recyclable.add(bullet);
 				}
 			}
@@ -566,6 +707,7 @@ public class GameScreen extends Screen {
 				this.score2 += this.enemyShipSpecial.getPointValue();
 				this.shipsDestroyed2++;
 				this.enemyShipSpecial.destroy();
+				this.particles.spawnExplosion(this.enemyShipSpecial);
 				this.enemyShipSpecialExplosionCooldown.reset();
 				recyclable.add(bullet);
 			}
@@ -593,8 +735,14 @@ public class GameScreen extends Screen {
 		// Calculates distance.
 		int distanceX = Math.abs(centerAX - centerBX);
 		int distanceY = Math.abs(centerAY - centerBY);
+		if (distanceX >= maxDistanceX || distanceY >= maxDistanceY) {
+			return false;
+		}
 
-		return distanceX < maxDistanceX && distanceY < maxDistanceY;
+		// Bounding boxes overlap, check the lit pixels.
+		return drawManager.getSpriteMasks().overlaps(a.getSpriteType(),
+				a.getPositionX(), a.getPositionY(), b.getSpriteType(),
+				b.getPositionX(), b.getPositionY());
 	}
 
 	/**
@@ -11,6 +11,8 @@ import java.io.IOException;
 import java.net.URLDecoder;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * Implements the high scores screen, it shows player records.
@@ -22,6 +24,8 @@ public class HighScoreScreen extends Screen {
 
 	/** List of past high scores. */
 	private List<Score> highScores;
+	/** High scores being loaded in the background, null if none. */
+	private Future<List<Score>> pendingHighScores;
 	private int gamemode;
 	private int select;
 	private int playermode;
@@ -48,11 +52,35 @@ public class HighScoreScreen extends Screen {
 		this.select = 0;
 		this.selectionCooldown = Core.getCooldown(200);
 		selectionCooldown.reset();
+		loadHighScores();
+	}
+
+	/**
+	 * Starts loading the high scores of the current game mode in the
+	 * background. Until they are loaded no scores are shown.
+	 */
+	private void loadHighScores() {
+		final int loadedGamemode = this.gamemode;
+		this.highScores = new ArrayList<>();
+		this.pendingHighScores = Core.getBackgroundTasks().submit(
+				() -> Core.getFileManager().loadHighScores(loadedGamemode));
+	}
+
+	/**
+	 * Shows the high scores once they are loaded.
+	 */
+	private void collectHighScores() {
+		if (this.pendingHighScores == null
+				|| !this.pendingHighScores.isDone()) {
+			return;
+		}
 		try {
-			this.highScores = Core.getFileManager().loadHighScores(gamemode);
-		} catch (NumberFormatException | IOException e) {
+			this.highScores = this.pendingHighScores.get();
+		} catch (ExecutionException | InterruptedException e) {
 			logger.warning("Couldn't load high scores!");
 		}
+		this.pendingHighScores = null;
+		drawManager.invalidateStaticLayer();
 	}
 
 	/**
@@ -66,7 +94,15 @@ public class HighScoreScreen extends Screen {
 		return this.returnCode;
 	}
 
-	protected final void deleteRecord() throws IOException{
+	/**
+	 * Deletes the high scores of a game mode. Runs on the background tasks.
+	 *
+	 * @param gamemode
+	 *            Game mode of the records.
+	 * @throws IOException
+	 *             In case of deleting problems.
+	 */
+	protected final void deleteRecord(final int gamemode) throws IOException{
 		String jarPaths;
 		jarPaths = FileManager.class.getProtectionDomain().getCodeSource().getLocation().getPath();
 		String jarPath;
@@ -90,6 +126,7 @@ public class HighScoreScreen extends Screen {
 	 */
 	protected final void update(){
 		super.update();
+		collectHighScores();
 		draw();
 
 		if ((inputManager.isKeyDown(KeyEvent.VK_SPACE) || inputManager.isKeyDown(KeyEvent.VK_ESCAPE) || inputManager.isKeyDown(KeyEvent.VK_ENTER)) && this.selectionCooldown.checkFinished()) {
@@ -97,13 +134,18 @@ public class HighScoreScreen extends Screen {
 		}
 		// 점수 기록 관리 - R버튼 누를시 reset
 		if(inputManager.isKeyDown(KeyEvent.VK_R) && this.resetDelay.checkFinished()){
-			try{
-				deleteRecord();
-				highScores = new ArrayList<>();
-			}
-			catch(Exception e){
-				logger.warning("Couldn't delete record!");
-			}
+			final int deletedGamemode = gamemode;
+			Core.getBackgroundTasks().submit(() -> {
+				try {
+					deleteRecord(deletedGamemode);
+				} catch (Exception e) {
+					logger.warning("Couldn't delete record!");
+				}
+				return null;
+			});
+			pendingHighScores = null;
+			highScores = new ArrayList<>();
+			drawManager.invalidateStaticLayer();
 
 		}
 		if((inputManager.isKeyDown(KeyEvent.VK_UP) || inputManager.isKeyDown(KeyEvent.VK_DOWN) || inputManager.isKeyDown(KeyEvent.VK_W) || inputManager.isKeyDown(KeyEvent.VK_S)) && this.selectionCooldown.checkFinished()){
@@ -133,11 +175,7 @@ public class HighScoreScreen extends Screen {
 				}
 			}
 			this.gamemode = playermode*4 + difficulty;
-			try {
-				this.highScores = Core.getFileManager().loadHighScores(gamemode);
-			} catch (NumberFormatException | IOException e) {
-				logger.warning("Couldn't load high scores!");
-			}
+			loadHighScores();
 			this.selectionCooldown.reset();
 		}
 		if((inputManager.isKeyDown(KeyEvent.VK_LEFT) || inputManager.isKeyDown(KeyEvent.VK_A))&& this.selectionCooldown.checkFinished()){
@@ -158,11 +196,7 @@ public class HighScoreScreen extends Screen {
 				}
 			}
 			this.gamemode = playermode*4 + difficulty;
-			try {
-				this.highScores = Core.getFileManager().loadHighScores(gamemode);
-			} catch (NumberFormatException | IOException e) {
-				logger.warning("Couldn't load high scores!");
-			}
+			loadHighScores();
 			this.selectionCooldown.reset();
 		}
 	}
@@ -173,8 +207,13 @@ public class HighScoreScreen extends Screen {
 	private void draw() {
 		drawManager.initDrawing(this);
 
-		drawManager.drawHighScoreMenu(this,select,playermode,difficulty);
-		drawManager.drawHighScores(this, this.highScores);
+		// Everything shown depends on the selection, so it is all cached.
+		if (drawManager.beginStaticLayer(this,
+				(select * 2 + playermode) * 4 + difficulty)) {
+			drawManager.drawHighScoreMenu(this,select,playermode,difficulty);
+			drawManager.drawHighScores(this, this.highScores);
+			drawManager.endStaticLayer(this);
+		}
 
 		drawManager.completeDrawing(this);
 	}
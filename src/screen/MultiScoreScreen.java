@@ -6,9 +6,11 @@ import engine.GameState;
 import engine.Score;
 
 import java.awt.event.KeyEvent;
-import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * Implements the score screen.
@@ -37,6 +39,8 @@ public class MultiScoreScreen extends Screen {
 	private int shipsDestroyed1, shipsDestroyed2;
 	/** List of past high scores. */
 	private List<Score> highScores;
+	/** High scores being loaded in the background, null once loaded. */
+	private Future<List<Score>> pendingHighScores;
 	/** Checks if current score is a new high score. */
 	private boolean isNewRecord1,isNewRecord2;
 	/** Player name for record input. */
@@ -81,8 +85,22 @@ public class MultiScoreScreen extends Screen {
 		this.selectionCooldown.reset();
 		this.gamemode = playermode * 4 + difficulty;
 		this.select = 0;
+		final int loadedGamemode = this.gamemode;
+		this.pendingHighScores = Core.getBackgroundTasks().submit(
+				() -> Core.getFileManager().loadHighScores(loadedGamemode));
+	}
+
+	/**
+	 * Checks for new records once the high scores are loaded, without
+	 * waiting for them.
+	 */
+	private void collectHighScores() {
+		if (this.pendingHighScores == null
+				|| !this.pendingHighScores.isDone()) {
+			return;
+		}
 		try {
-			this.highScores = Core.getFileManager().loadHighScores(gamemode);
+			this.highScores = this.pendingHighScores.get();
 			if(highScores.size()+1 < MAX_HIGH_SCORE_NUM){
 				this.isNewRecord2 = this.isNewRecord1 = true;
 			}
@@ -101,9 +119,22 @@ public class MultiScoreScreen extends Screen {
 				select = 1;
 			}
 
-		} catch (IOException e) {
+		} catch (ExecutionException | InterruptedException e) {
 			logger.warning("Couldn't load high scores!");
 		}
+		this.pendingHighScores = null;
+		drawManager.invalidateStaticLayer();
+	}
+
+	/**
+	 * Checks if the screen reacts to the keys, once the input delay is over
+	 * and the high scores are loaded, since saving depends on them.
+	 *
+	 * @return True if the keys are read.
+	 */
+	private boolean acceptsInput() {
+		return this.inputDelay.checkFinished()
+				&& this.pendingHighScores == null;
 	}
 
 	/**
@@ -123,8 +154,9 @@ public class MultiScoreScreen extends Screen {
 	protected final void update() {
 		super.update();
 
+		collectHighScores();
 		draw();
-		if (this.inputDelay.checkFinished()) {
+		if (acceptsInput()) {
 			if (inputManager.isKeyDown(KeyEvent.VK_ESCAPE)) {
 				// Return to main menu.
 				this.returnCode = 1;
@@ -253,11 +285,7 @@ public class MultiScoreScreen extends Screen {
 				highScores.remove(highScores.size() - 1);
 			}
 
-			try {
-				Core.getFileManager().saveHighScores(highScores,gamemode);
-			} catch (IOException e) {
-				logger.warning("Couldn't load high scores!");
-			}
+			saveHighScores();
 		}
 		if(this.isNewRecord2){
 			highScores.add(new Score(new String(this.name2), score2));
@@ -266,24 +294,38 @@ public class MultiScoreScreen extends Screen {
 				highScores.remove(highScores.size() - 1);
 			}
 
-			try {
-				Core.getFileManager().saveHighScores(highScores,gamemode);
-			} catch (IOException e) {
-				logger.warning("Couldn't load high scores!");
-			}
+			saveHighScores();
 		}
 
 	}
 
+	/**
+	 * Saves the high scores in the background.
+	 */
+	private void saveHighScores() {
+		final List<Score> savedHighScores = new ArrayList<>(highScores);
+		final int savedGamemode = gamemode;
+		Core.getBackgroundTasks().submit(() -> {
+			Core.getFileManager().saveHighScores(savedHighScores,
+					savedGamemode);
+			return null;
+		});
+	}
+
 	/**
 	 * Draws the elements associated with the screen.
 	 */
 	private void draw() {
 		drawManager.initDrawing(this);
 
-		drawManager.drawGameOver(this, this.inputDelay.checkFinished(), this.isNewRecord1, this.isNewRecord2, this.score1, this.score2);
-		drawManager.drawResults(this, this.score1, this.livesRemaining1, this.shipsDestroyed1, this.bulletsShot1!=0 ? (float) this.shipsDestroyed1 / this.bulletsShot1 : 0, this.isNewRecord1,
-									this.score2,this.livesRemaining2,this.shipsDestroyed2,this.bulletsShot2!=0 ? (float)this.shipsDestroyed2/this.bulletsShot2 : 0, this.isNewRecord2);
+		// The instructions stay grayed out while the scores are loading.
+		boolean acceptsInput = acceptsInput();
+		if (drawManager.beginStaticLayer(this, acceptsInput ? 1 : 0)) {
+			drawManager.drawGameOver(this, acceptsInput, this.isNewRecord1, this.isNewRecord2, this.score1, this.score2);
+			drawManager.drawResults(this, this.score1, this.livesRemaining1, this.shipsDestroyed1, this.bulletsShot1!=0 ? (float) this.shipsDestroyed1 / this.bulletsShot1 : 0, this.isNewRecord1,
+										this.score2,this.livesRemaining2,this.shipsDestroyed2,this.bulletsShot2!=0 ? (float)this.shipsDestroyed2/this.bulletsShot2 : 0, this.isNewRecord2);
+			drawManager.endStaticLayer(this);
+		}
 
 		if (this.isNewRecord1 || this.isNewRecord2) {
 			drawManager.drawNameInput(this, this.name1,this.name2, this.nameCharSelected1, this.nameCharSelected2, this.isNewRecord1, this.isNewRecord2, this.select);
@@ -6,9 +6,11 @@ import engine.GameState;
 import engine.Score;
 
 import java.awt.event.KeyEvent;
-import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * Implements the score screen.
@@ -37,6 +39,8 @@ public class ScoreScreen extends Screen {
 	private int shipsDestroyed;
 	/** List of past high scores. */
 	private List<Score> highScores;
+	/** High scores being loaded in the background, null once loaded. */
+	private Future<List<Score>> pendingHighScores;
 	/** Checks if current score is a new high score. */
 	private boolean isNewRecord;
 	/** Player name for record input. */
@@ -75,17 +79,43 @@ public class ScoreScreen extends Screen {
 		this.selectionCooldown.reset();
 		this.gamemode = (playermode * 4) + difficulty;
 		this.clear = gameState.getLivesRemaining() > 0;
+		final int loadedGamemode = this.gamemode;
+		this.pendingHighScores = Core.getBackgroundTasks().submit(
+				() -> Core.getFileManager().loadHighScores(loadedGamemode));
+	}
+
+	/**
+	 * Checks for a new record once the high scores are loaded, without
+	 * waiting for them.
+	 */
+	private void collectHighScores() {
+		if (this.pendingHighScores == null
+				|| !this.pendingHighScores.isDone()) {
+			return;
+		}
 		try {
-			this.highScores = Core.getFileManager().loadHighScores(gamemode);
+			this.highScores = this.pendingHighScores.get();
 			if (highScores.size() < MAX_HIGH_SCORE_NUM
 					|| highScores.get(highScores.size() - 1).getScore()
 					< this.score) {
 				this.isNewRecord = true;
 			}
-
-		} catch (IOException e) {
+		} catch (ExecutionException | InterruptedException e) {
 			logger.warning("Couldn't load high scores!");
 		}
+		this.pendingHighScores = null;
+		drawManager.invalidateStaticLayer();
+	}
+
+	/**
+	 * Checks if the screen reacts to the keys, once the input delay is over
+	 * and the high scores are loaded, since saving depends on them.
+	 *
+	 * @return True if the keys are read.
+	 */
+	private boolean acceptsInput() {
+		return this.inputDelay.checkFinished()
+				&& this.pendingHighScores == null;
 	}
 
 	/**
@@ -105,8 +135,9 @@ public class ScoreScreen extends Screen {
 	protected final void update() {
 		super.update();
 
+		collectHighScores();
 		draw();
-		if (this.inputDelay.checkFinished()) {
+		if (acceptsInput()) {
 			if (inputManager.isKeyDown(KeyEvent.VK_ESCAPE)) {
 				// Return to main menu.
 				this.returnCode = 1;
@@ -164,11 +195,13 @@ public class ScoreScreen extends Screen {
 			highScores.remove(highScores.size() - 1);
 		}
 
-		try {
-			Core.getFileManager().saveHighScores(highScores,gamemode);
-		} catch (IOException e) {
-			logger.warning("Couldn't load high scores!");
-		}
+		final List<Score> savedHighScores = new ArrayList<>(highScores);
+		final int savedGamemode = gamemode;
+		Core.getBackgroundTasks().submit(() -> {
+			Core.getFileManager().saveHighScores(savedHighScores,
+					savedGamemode);
+			return null;
+		});
 	}
 
 	/**
@@ -177,9 +210,14 @@ public class ScoreScreen extends Screen {
 	private void draw() {
 		drawManager.initDrawing(this);
 
-		drawManager.drawGameOver(this, this.inputDelay.checkFinished(), this.isNewRecord, this.clear);
-		drawManager.drawResults(this, this.score, this.livesRemaining,
-				this.shipsDestroyed, this.bulletsShot!=0 ? (float) this.shipsDestroyed / this.bulletsShot : 0, this.isNewRecord);
+		// The instructions stay grayed out while the scores are loading.
+		boolean acceptsInput = acceptsInput();
+		if (drawManager.beginStaticLayer(this, acceptsInput ? 1 : 0)) {
+			drawManager.drawGameOver(this, acceptsInput, this.isNewRecord, this.clear);
+			drawManager.drawResults(this, this.score, this.livesRemaining,
+					this.shipsDestroyed, this.bulletsShot!=0 ? (float) this.shipsDestroyed / this.bulletsShot : 0, this.isNewRecord);
+			drawManager.endStaticLayer(this);
+		}
 
 		if (this.isNewRecord) {
 			drawManager.drawNameInput(this, this.name, this.nameCharSelected);
@@ -3,10 +3,12 @@ package screen;
 import engine.Cooldown;
 import engine.Core;
 import engine.DrawManager;
-import engine.InputManager;
+import engine.FrameBudget;
+import engine.FramePacer;
+import engine.GameClock;
+import engine.InputSource;
 
 import java.awt.*;
-import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 /**
@@ -20,6 +22,10 @@ public class Screen {
 	/** Milliseconds until the screen accepts user input. */
 	private static final int INPUT_DELAY = 1000;
 	private static final int PAUSE_COOLDOWN_DELAY = 200;
+	/** Nanoseconds in a second. */
+	private static final long NANOS_PER_SECOND = 1000000000L;
+	/** Most updates run in a row to catch up with a late frame. */
+	private static final int MAX_CATCH_UP_TICKS = 5;
 
 	//리셋 쿨
 	private static final int resetCooldownSetting= 100;
@@ -27,8 +33,8 @@ public class Screen {
 
 	/** Draw Manager instance. */
 	protected DrawManager drawManager;
-	/** Input Manager instance. */
-	protected InputManager inputManager;
+	/** Source of the keys pressed, the Input Manager unless replaced. */
+	protected InputSource inputManager;
 	/** Application logger. */
 	protected Logger logger;
 
@@ -38,6 +44,24 @@ public class Screen {
 	protected int height;
 	/** Frames per second shown on the screen. */
 	protected int fps;
+	/** Draws per second between updates, 0 to draw on each update. */
+	private int renderRate;
+	/** If the screen is drawn between updates instead of by them. */
+	protected boolean interpolating;
+	/** If the update running draws the screen. */
+	protected boolean drawOnUpdate;
+	/** Skips or simplifies frames when they run over their time. */
+	protected FrameBudget frameBudget;
+	/** Waits for the next update or draw. */
+	private FramePacer framePacer;
+	/** Clock of the gameplay timing, advanced before each update. */
+	private GameClock clock;
+	/** Most updates run without waiting or drawing, 0 to run normally. */
+	private long fastForwardTicks;
+	/** If the screen runs without waiting or drawing. */
+	protected boolean fastForward;
+	/** Updates run by the last call to run. */
+	private long ticksRun;
 	/** Screen insets. */
 	protected Insets insets;
 	/** Time until the screen accepts user input. */
@@ -65,6 +89,10 @@ public class Screen {
 		this.width = width;
 		this.height = height;
 		this.fps = fps;
+		this.renderRate = Core.getRenderRate();
+		this.framePacer = Core.getFramePacer();
+		this.clock = Core.getClock();
+		this.frameBudget = Core.getFrameBudget();
 
 		this.drawManager = Core.getDrawManager();
 		this.inputManager = Core.getInputManager();
@@ -87,37 +115,202 @@ public class Screen {
 	}
 
 	/**
-	 * Activates the screen.
+	 * Activates the screen. Updates run on a fixed timestep measured with
+	 * System.nanoTime, waiting for each one with the frame pacer, so the
+	 * game speed does not depend on how long each update takes: updates
+	 * that fall behind are caught up, up to MAX_CATCH_UP_TICKS at a time,
+	 * and the rest are dropped.
 	 *
 	 * @return Next screen code.
 	 */
 	public int run() {
 		this.isRunning = true;
 		this.pause = false;
+		this.ticksRun = 0;
+		this.fastForward = this.fastForwardTicks > 0;
+		if (this.fastForward) {
+			return runFastForward();
+		}
+		long tickNanos = NANOS_PER_SECOND / this.fps;
+		long lateTicks = 0;
+		long droppedTicks = 0;
+		// Starts with a full tick pending, so the first update is immediate.
+		long lag = tickNanos;
+		long previous = System.nanoTime();
+		this.interpolating = this.renderRate > 0 && canInterpolate();
+		long renderNanos = this.interpolating
+				? NANOS_PER_SECOND / this.renderRate : 0;
+		long nextRender = previous;
+		long renders = 0;
+		long busy = -1;
+		// Screens that always draw do not feed or consult the budget.
+		boolean budgeted = this.frameBudget.isEnabled() && usesFrameBudget();
+		this.framePacer.restart();
 		while (this.isRunning) {
-			long time = System.currentTimeMillis();
+			long now = System.nanoTime();
+			if (budgeted && busy >= 0) {
+				this.frameBudget.record(busy, now - previous);
+			}
+			lag += now - previous;
+			previous = now;
 
-			update();
+			// When updates are late, only the last one of the batch is
+			// drawn, and the frame budget may skip that one too.
+			long due = Math.min(lag / tickNanos, MAX_CATCH_UP_TICKS);
+			int steps = 0;
+			while (steps < due && this.isRunning) {
+				this.drawOnUpdate = !this.interpolating;
+				if (this.drawOnUpdate && budgeted) {
+					if (steps < due - 1) {
+						this.frameBudget.skipFrame();
+						this.drawOnUpdate = false;
+					} else {
+						this.drawOnUpdate = this.frameBudget.shouldDraw();
+					}
+				}
+				this.clock.advance(tickNanos);
+				Core.advanceTimers();
+				update();
+				if (this.drawOnUpdate) {
+					this.framePacer.frameDrawn();
+				}
+				lag -= tickNanos;
+				steps++;
+			}
+			this.ticksRun += steps;
+			if (steps > 1) {
+				lateTicks += steps - 1;
+			}
+			if (lag >= tickNanos) {
+				droppedTicks += lag / tickNanos;
+				lag %= tickNanos;
+			}
 
-			time = (1000 / this.fps) - (System.currentTimeMillis() - time);
-			if (time > 0) {
-				try {
-					TimeUnit.MILLISECONDS.sleep(time);
-				} catch (InterruptedException e) {
-					return 0;
+			long deadline = previous + tickNanos - lag;
+			if (this.interpolating && this.isRunning) {
+				long renderTime = System.nanoTime();
+				if (renderTime - nextRender >= 0) {
+					if (!budgeted || this.frameBudget.shouldDraw()) {
+						float alpha = Math.min(1f, (float) (lag + renderTime
+								- previous) / tickNanos);
+						render(alpha);
+						this.framePacer.frameDrawn();
+						renders++;
+					}
+					// Renders that could not keep up are skipped.
+					nextRender = Math.max(nextRender + renderNanos,
+							renderTime);
+				}
+				if (nextRender - deadline < 0) {
+					deadline = nextRender;
 				}
 			}
+			busy = System.nanoTime() - previous;
+			try {
+				this.framePacer.waitUntil(deadline);
+			} catch (InterruptedException e) {
+				return 0;
+			}
 		}
+		this.logger.info(String.format(
+				"Screen loop: %d ticks, %d late, %d dropped, %d renders.",
+				this.ticksRun, lateTicks, droppedTicks, renders));
 
 		return 0;
 	}
 
+	/**
+	 * Runs the updates back to back, without waiting or drawing, until the
+	 * screen finishes or the update limit is reached. The gameplay clock
+	 * should be a ManualClock, so that time advances with the updates.
+	 *
+	 * @return Next screen code.
+	 */
+	private int runFastForward() {
+		long tickNanos = NANOS_PER_SECOND / this.fps;
+		this.drawOnUpdate = false;
+		while (this.isRunning && this.ticksRun < this.fastForwardTicks) {
+			this.clock.advance(tickNanos);
+			Core.advanceTimers();
+			update();
+			this.ticksRun++;
+		}
+		if (this.isRunning) {
+			this.logger.warning("Screen stopped after " + this.ticksRun
+					+ " fast-forwarded updates.");
+			this.isRunning = false;
+		}
+		return 0;
+	}
+
 	/**
 	 * Updates the elements on screen and checks for events.
 	 */
 	protected void update() {
 	}
 
+	/**
+	 * Draws the screen between two updates, when it is drawn apart from
+	 * them.
+	 *
+	 * @param alpha
+	 *            Progress from the last update to the next one, 0 to 1.
+	 */
+	protected void render(final float alpha) {
+	}
+
+	/**
+	 * Checks if the screen follows the frame budget. Screens that do must
+	 * only draw from update when drawOnUpdate is set, and may be told to
+	 * leave out effects.
+	 *
+	 * @return True if the screen can skip or simplify frames.
+	 */
+	protected boolean usesFrameBudget() {
+		return false;
+	}
+
+	/**
+	 * Checks if the screen can be drawn between updates. Screens that can
+	 * must only draw from render while interpolating.
+	 *
+	 * @return True if the screen implements render.
+	 */
+	protected boolean canInterpolate() {
+		return false;
+	}
+
+	/**
+	 * Replaces the source of the keys pressed, such as with a scripted
+	 * player.
+	 *
+	 * @param inputSource
+	 *            Source of the keys pressed.
+	 */
+	public final void setInputSource(final InputSource inputSource) {
+		this.inputManager = inputSource;
+	}
+
+	/**
+	 * Makes the screen run its updates back to back, without waiting or
+	 * drawing. Only the game screen skips drawing.
+	 *
+	 * @param maxTicks
+	 *            Most updates to run before stopping, 0 to run normally.
+	 */
+	public final void setFastForward(final long maxTicks) {
+		this.fastForwardTicks = maxTicks;
+	}
+
+	/**
+	 * Getter for the updates run by the last call to run.
+	 *
+	 * @return Updates run.
+	 */
+	public final long getTicksRun() {
+		return this.ticksRun;
+	}
+
 	/**
 	 * Getter for screen width.
 	 *
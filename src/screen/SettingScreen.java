@@ -161,7 +161,10 @@ public class SettingScreen extends Screen {
      */
     private void draw() {
         drawManager.initDrawing(this);
-        drawManager.drawSetting(this);
+        if (drawManager.beginStaticLayer(this, 0)) {
+            drawManager.drawSetting(this);
+            drawManager.endStaticLayer(this);
+        }
         drawManager.drawSettingMenu(this,select,difficulty,playermode,colorSet);
 
         drawManager.completeDrawing(this);
@@ -110,7 +110,10 @@ public class TitleScreen extends Screen {
 	private void draw() {
 		drawManager.initDrawing(this);
 
-		drawManager.drawTitle(this);
+		if (drawManager.beginStaticLayer(this, 0)) {
+			drawManager.drawTitle(this);
+			drawManager.endStaticLayer(this);
+		}
 		drawManager.drawMenu(this, this.returnCode);
 
 		drawManager.completeDrawing(this);